@@ -0,0 +1,36 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks whose names match the given regular expressions, or all of them if none is
+ * given, with the GC profiler so that the allocation rate per operation is reported along with
+ * the time:
+ *
+ * <pre>{@code
+ * java -cp benchmarks/target/benchmarks.jar \
+ *     com.github.ikonglong.common.status.benchmark.BenchmarkRunner StatusJson
+ * }</pre>
+ *
+ * <p>Running {@code java -jar benchmarks/target/benchmarks.jar -prof gc} is equivalent, and
+ * accepts all other JMH options.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws RunnerException {
+    ChainedOptionsBuilder options = new OptionsBuilder().addProfiler(GCProfiler.class);
+    if (args.length == 0) {
+      options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+    }
+    for (String include : args) {
+      options.include(include);
+    }
+    new Runner(options.build()).run();
+  }
+}
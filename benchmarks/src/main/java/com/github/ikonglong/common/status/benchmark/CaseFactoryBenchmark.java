@@ -0,0 +1,48 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.DigitCodedCase;
+import com.github.ikonglong.common.status.DigitCodedCase.CodingStrategy;
+import com.github.ikonglong.common.status.DigitCodedCase.Factory;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.StatusCodeToNumRangeMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Factory#create}, which validates the condition code and formats the identifier
+ * of a case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaseFactoryBenchmark {
+
+  private final Factory factory =
+      new Factory.Builder()
+          .codingStrategy(
+              CodingStrategy.newBuilder()
+                  .numDigitsOfAppCode(1)
+                  .numDigitsOfModuleCode(1)
+                  .numDigitsOfConditionCode(3)
+                  .statusCodeMapper(new StatusCodeToNumRangeMapper())
+                  .build())
+          .appCode(1)
+          .moduleCode(2)
+          .build();
+
+  @Benchmark
+  public DigitCodedCase create() {
+    return factory.create(Status.Code.FAILED_PRECONDITION, 52);
+  }
+}
@@ -0,0 +1,74 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.ExceptionCodeRegistry;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures extracting a status from a causal chain whose root cause carries a status, is mapped
+ * in an {@link ExceptionCodeRegistry}, or neither.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FromThrowableBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int depth;
+
+  private final ExceptionCodeRegistry registry =
+      ExceptionCodeRegistry.newBuilder()
+          .map(IllegalArgumentException.class, Code.INVALID_ARGUMENT)
+          .map(TimeoutException.class, Code.DEADLINE_EXCEEDED)
+          .build();
+
+  private Throwable carried;
+  private Throwable mapped;
+  private Throwable unmapped;
+
+  @Setup
+  public void setUp() {
+    carried = wrap(Status.NOT_FOUND.asRuntimeException(false));
+    mapped = wrap(new TimeoutException());
+    unmapped = wrap(new IllegalStateException());
+  }
+
+  private Throwable wrap(Throwable rootCause) {
+    Throwable t = rootCause;
+    for (int i = 1; i < depth; i++) {
+      t = new RuntimeException(t);
+    }
+    return t;
+  }
+
+  @Benchmark
+  public Status carried() {
+    return Status.fromThrowable(carried);
+  }
+
+  @Benchmark
+  public Status mapped() {
+    return Status.fromThrowable(mapped, registry);
+  }
+
+  @Benchmark
+  public Status unmapped() {
+    return Status.fromThrowable(unmapped, registry);
+  }
+}
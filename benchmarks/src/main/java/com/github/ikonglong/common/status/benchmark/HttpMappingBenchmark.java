@@ -0,0 +1,50 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.HttpStatus;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures mapping between status codes and HTTP statuses in both directions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpMappingBenchmark {
+
+  private final Code code = Code.DEADLINE_EXCEEDED;
+  private final int httpStatusCode = 404;
+
+  @Benchmark
+  public HttpStatus toHttpStatus() {
+    return code.toHttpStatus();
+  }
+
+  @Benchmark
+  public HttpStatus httpStatusFromCode() {
+    return HttpStatus.fromCode(httpStatusCode);
+  }
+
+  @Benchmark
+  public Status fromHttpStatusCode() {
+    return Status.fromHttpStatusCode(httpStatusCode);
+  }
+
+  @Benchmark
+  public Status fromCodeValue() {
+    return Status.fromCodeValue(code.value());
+  }
+}
@@ -0,0 +1,71 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.MessageTemplate;
+import com.github.ikonglong.common.status.guava.Strings;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Strings#lenientFormat}, which renders every templated status message, against
+ * rendering the same templates compiled as {@link MessageTemplate}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LenientFormatBenchmark {
+
+  private final int count = 42;
+  private final String item = "sku-1024";
+  private final Object[] noArgs = {};
+  private final MessageTemplate oneTemplate = MessageTemplate.compile("Item %s not found");
+  private final MessageTemplate twoTemplate =
+      MessageTemplate.compile("Insufficient inventory[=%s] of item[=%s]");
+  private final StringBuilder builder = new StringBuilder(64);
+
+  @Benchmark
+  public String noPlaceholder() {
+    return Strings.lenientFormat("Item not found", noArgs);
+  }
+
+  @Benchmark
+  public String onePlaceholder() {
+    return Strings.lenientFormat("Item %s not found", item);
+  }
+
+  @Benchmark
+  public String twoPlaceholders() {
+    return Strings.lenientFormat("Insufficient inventory[=%s] of item[=%s]", count, item);
+  }
+
+  @Benchmark
+  public String extraArgs() {
+    return Strings.lenientFormat("Item %s not found", item, count);
+  }
+
+  @Benchmark
+  public String compiledOnePlaceholder() {
+    return oneTemplate.format(item);
+  }
+
+  @Benchmark
+  public String compiledTwoPlaceholders() {
+    return twoTemplate.format(count, item);
+  }
+
+  @Benchmark
+  public StringBuilder compiledTwoPlaceholdersAppended() {
+    builder.setLength(0);
+    return twoTemplate.appendTo(builder, count, item);
+  }
+}
@@ -0,0 +1,71 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.binary.StatusBinaryCodec;
+import com.github.ikonglong.common.status.gson.StatusJson;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding a status with a case and details into bytes and decoding it back by {@link
+ * StatusBinaryCodec}, against {@link StatusJson} with UTF-8 encoding of its JSON.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusBinaryCodecBenchmark {
+
+  private final StatusJson statusJson = StatusJson.DEFAULT_INSTANCE;
+  private final Case theCase = new FactoryForComplexSystem(1, 2).newFailedPrecondition(52);
+  private final StatusBinaryCodec binaryCodec =
+      StatusBinaryCodec.newBuilder().caseDictionary(Collections.singletonList(theCase)).build();
+  private final Status status =
+      Status.fromCase(theCase, "Insufficient inventory[=%s] of item[=%s]", 42, "sku-1024")
+          .addDetail("sku-1024");
+  private final byte[] json = statusJson.toJson(status).getBytes(UTF_8);
+  private final ByteBuffer encoded = binaryCodec.encode(status);
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+  @Benchmark
+  public byte[] gsonEncode() {
+    return statusJson.toJson(status).getBytes(UTF_8);
+  }
+
+  @Benchmark
+  public Status gsonDecode() {
+    return statusJson.fromJson(new String(json, UTF_8));
+  }
+
+  @Benchmark
+  public ByteBuffer binaryEncode() {
+    return binaryCodec.encode(status);
+  }
+
+  @Benchmark
+  public ByteBuffer binaryEncodeToBuffer() {
+    buffer.clear();
+    return binaryCodec.encodeTo(buffer, status);
+  }
+
+  @Benchmark
+  public Status binaryDecode() {
+    return binaryCodec.decode(encoded.duplicate());
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.Status;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures deriving statuses from the canonical ones, which every failed operation does at least
+ * once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusCreationBenchmark {
+
+  private final Case theCase = new FactoryForComplexSystem(1, 2).newFailedPrecondition(52);
+  private final Status withCase = Status.FAILED_PRECONDITION.withCase(theCase);
+  private final String item = "sku-1024";
+
+  @Benchmark
+  public Status fromCode() {
+    return Status.fromCode(Status.Code.NOT_FOUND);
+  }
+
+  @Benchmark
+  public Status withMessage() {
+    return Status.NOT_FOUND.withMessage("Item not found");
+  }
+
+  @Benchmark
+  public Status withMessageTemplate() {
+    return Status.NOT_FOUND.withMessage("Item %s not found", item);
+  }
+
+  @Benchmark
+  public Status withCase() {
+    return Status.FAILED_PRECONDITION.withCase(theCase);
+  }
+
+  @Benchmark
+  public Status withCaseAndMessage() {
+    return Status.FAILED_PRECONDITION.withCase(theCase, "Item %s is out of stock", item);
+  }
+
+  @Benchmark
+  public Status fromCase() {
+    return Status.fromCase(theCase, "Item %s is out of stock", item);
+  }
+
+  @Benchmark
+  public Status addDetail() {
+    return withCase.addDetail(item);
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.StatusCatalog;
+import com.github.ikonglong.common.status.StatusRuntimeException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares throwing and catching exceptions converted from a status with a stack trace, without
+ * stack trace and from the instance shared by a {@link StatusCatalog}. The exception is thrown at
+ * the given call depth, since the cost of capturing a stack trace grows with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusExceptionBenchmark {
+
+  @Param({"10", "100"})
+  public int depth;
+
+  private final Case itemNotFound = new FactoryForComplexSystem(1, 2).newNotFound(252);
+  private final StatusCatalog catalog =
+      StatusCatalog.newBuilder().add(itemNotFound, "Item not found").build();
+  private final Status status = catalog.statusFor(itemNotFound);
+
+  @Benchmark
+  public Status withStackTrace() {
+    try {
+      throwAt(depth, true, false);
+      return null;
+    } catch (StatusRuntimeException e) {
+      return e.getStatus();
+    }
+  }
+
+  @Benchmark
+  public Status stackless() {
+    try {
+      throwAt(depth, false, false);
+      return null;
+    } catch (StatusRuntimeException e) {
+      return e.getStatus();
+    }
+  }
+
+  @Benchmark
+  public Status cached() {
+    try {
+      throwAt(depth, false, true);
+      return null;
+    } catch (StatusRuntimeException e) {
+      return e.getStatus();
+    }
+  }
+
+  private void throwAt(int depth, boolean captureStackTrace, boolean cached) {
+    if (depth > 0) {
+      throwAt(depth - 1, captureStackTrace, cached);
+    } else if (cached) {
+      throw catalog.runtimeExceptionFor(itemNotFound);
+    } else {
+      throw status.asRuntimeException(captureStackTrace);
+    }
+  }
+}
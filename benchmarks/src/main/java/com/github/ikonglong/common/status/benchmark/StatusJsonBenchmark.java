@@ -0,0 +1,53 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.gson.StatusJson;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing a status with a case and details to JSON and reading it back by {@link
+ * StatusJson}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusJsonBenchmark {
+
+  private final StatusJson statusJson = StatusJson.DEFAULT_INSTANCE;
+  private final Status status =
+      Status.fromCase(
+              new FactoryForComplexSystem(1, 2).newFailedPrecondition(52),
+              "Insufficient inventory[=%s] of item[=%s]",
+              42,
+              "sku-1024")
+          .addDetail("sku-1024");
+  private final String json = statusJson.toJson(status);
+
+  @Benchmark
+  public String toJson() {
+    return statusJson.toJson(status);
+  }
+
+  @Benchmark
+  public Status fromJson() {
+    return statusJson.fromJson(json);
+  }
+
+  @Benchmark
+  public Status roundTrip() {
+    return statusJson.fromJson(statusJson.toJson(status));
+  }
+}
@@ -0,0 +1,62 @@
+package com.github.ikonglong.common.status.benchmark;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.guava.Strings;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares formatting status messages eagerly with deferring the formatting until the message is
+ * accessed. The {@code *Unrendered} benchmarks model rejection paths on which only the code of a
+ * status is used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusMessageBenchmark {
+
+  private static final String TEMPLATE = "Insufficient inventory[=%s] of item[=%s]";
+
+  private final Case theCase = new FactoryForComplexSystem(1, 2).newFailedPrecondition(52);
+  private final int count = 42;
+  private final String item = "sku-1024";
+
+  @Benchmark
+  public Status eagerWithMessage() {
+    return Status.FAILED_PRECONDITION.withMessage(Strings.lenientFormat(TEMPLATE, count, item));
+  }
+
+  @Benchmark
+  public Status deferredWithMessageUnrendered() {
+    return Status.FAILED_PRECONDITION.withMessage(TEMPLATE, count, item);
+  }
+
+  @Benchmark
+  public String deferredWithMessageRendered() {
+    return Status.FAILED_PRECONDITION.withMessage(TEMPLATE, count, item).message();
+  }
+
+  @Benchmark
+  public Status eagerFromCase() {
+    return Status.FAILED_PRECONDITION.withCase(theCase).withMessage(
+        Strings.lenientFormat(TEMPLATE, count, item));
+  }
+
+  @Benchmark
+  public Status deferredFromCaseUnrendered() {
+    return Status.fromCase(theCase, TEMPLATE, count, item);
+  }
+}
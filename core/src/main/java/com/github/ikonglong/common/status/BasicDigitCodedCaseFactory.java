@@ -2,6 +2,7 @@ package com.github.ikonglong.common.status;
 
 import com.github.ikonglong.common.status.DigitCodedCase.CodingStrategy;
 import com.github.ikonglong.common.status.DigitCodedCase.Factory;
+import com.github.ikonglong.common.status.DigitCodedCase.NumRange;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -11,9 +12,18 @@ import static com.google.common.base.Preconditions.checkArgument;
 public abstract class BasicDigitCodedCaseFactory {
 
     protected final Factory caseFactory;
+    // Starts of the condition code segments indexed by the values of their status codes, or -1 if
+    // a status code is not mapped
+    private final int[] conditionCodeStarts;
 
     protected BasicDigitCodedCaseFactory(Factory caseFactory) {
         this.caseFactory = caseFactory;
+        this.conditionCodeStarts = new int[Status.Code.values().length];
+        SegmentedStatusCodeMapper mapper = caseFactory.codingStrategy().statusCodeMapper();
+        for (Status.Code statusCode : Status.Code.values()) {
+            NumRange segment = mapper.conditionCodeSegmentFor(statusCode);
+            conditionCodeStarts[statusCode.value()] = segment == null ? -1 : segment.start();
+        }
     }
 
     /**
@@ -379,11 +389,9 @@ public abstract class BasicDigitCodedCaseFactory {
     }
 
     private final int startConditionCodeFor(Status.Code statusCode) {
-        return caseFactory
-                .codingStrategy()
-                .statusCodeMapper()
-                .conditionCodeSegmentFor(statusCode)
-                .start();
+        int start = conditionCodeStarts[statusCode.value()];
+        checkArgument(start >= 0, "Given CodeMapper doesn't contain status code %s", statusCode.name());
+        return start;
     }
 
     /**
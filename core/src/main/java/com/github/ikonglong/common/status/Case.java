@@ -21,12 +21,34 @@ public interface Case {
      */
     Status.Code statusCode();
 
+    /**
+     * Returns the identifier along with its UTF-8 bytes and its quoted JSON form, so that writers
+     * copy them rather than encoding the identifier on every write. The default implementation
+     * encodes it on every call; the cases of this library encode it once and cache it.
+     */
+    default EncodedString encodedIdentifier() {
+        return EncodedString.of(identifier());
+    }
+
+    /**
+     * Returns whether the exceptions converted from a status of this case by {@link
+     * Status#asRuntimeException()} or {@link Status#asException()} capture a stack trace. A case
+     * which represents an expected failure, e.g. a validation failure, may return {@code false} to
+     * make throwing it cheap. Defaults to {@code true}.
+     */
+    default boolean captureStackTrace() {
+        return true;
+    }
+
     /**
      * Default implementation for {@link Case} interface. It is mainly used for deserialization.
      */
     class Default implements Case {
         private final String identifier;
         private final Status.Code statusCode;
+        // Encoded on first use rather than on creation, since decoders create a case per status
+        // whose identifier is not registered, which is seldom written again
+        private EncodedString encodedIdentifier;
 
         public Default(String identifier, int statusCode) {
             this.identifier = requireNonNull(identifier, "identifier");
@@ -35,7 +57,7 @@ public interface Case {
 
         public Default(String identifier, String status) {
             this.identifier = requireNonNull(identifier, "identifier");
-            this.statusCode = Status.fromCode(Code.valueOf(status.toUpperCase())).code();
+            this.statusCode = Code.parse(status);
         }
 
         public Default(String identifier, Code statusCode) {
@@ -53,6 +75,17 @@ public interface Case {
             return statusCode;
         }
 
+        @Override
+        public EncodedString encodedIdentifier() {
+            // Racy but safe since EncodedString is immutable, as String.hashCode() does
+            EncodedString encoded = encodedIdentifier;
+            if (encoded == null) {
+                encoded = EncodedString.of(identifier);
+                encodedIdentifier = encoded;
+            }
+            return encoded;
+        }
+
         @Override
         public String toString() {
             return identifier;
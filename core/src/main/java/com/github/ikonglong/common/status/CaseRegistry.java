@@ -0,0 +1,170 @@
+package com.github.ikonglong.common.status;
+
+import com.github.ikonglong.common.status.Status.Code;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A registry of cases keyed by their identifiers, so that decoders return the cases which were
+ * created by the application, rather than a new {@link Case.Default} for every decoded status.
+ *
+ * <p>Cases are registered explicitly, e.g. the constants of an application on startup:
+ *
+ * <pre>{@code
+ * CaseRegistry.global().registerAll(OrderCaseDefsCatalog.cases());
+ * CaseRegistry.global().registerAll(WORD_CASES.cases());
+ * }</pre>
+ *
+ * <p>Identifiers are only unique within a coding strategy or a word table, so creating a case
+ * never registers it, and cases of libraries which share a JVM don't interfere unless they are
+ * registered in the same registry. The first case registered for an identifier wins; a later
+ * conflicting case is not registered, which is reported by the return value of {@link
+ * #register(Case)} and {@link #registerAll(Iterable)}.
+ *
+ * <p>Lookups never block. Besides identifiers, cases are indexed by their {@link Code status
+ * codes}, and digit coded cases also by their app and module codes.
+ */
+@ThreadSafe
+public final class CaseRegistry {
+
+    private static final CaseRegistry GLOBAL = new CaseRegistry();
+
+    private final ConcurrentMap<String, Case> casesByIdentifier = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Set<DigitCodedCase>> casesByAppCode = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Set<DigitCodedCase>> casesByModuleCode = new ConcurrentHashMap<>();
+    // Cases indexed by the values of their status codes
+    private final Set<Case>[] casesByStatusCode;
+
+    @SuppressWarnings("unchecked")
+    public CaseRegistry() {
+        Code[] codes = Code.values();
+        casesByStatusCode = new Set[codes.length];
+        for (Code code : codes) {
+            casesByStatusCode[code.value()] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    /**
+     * Returns the registry by which the codecs of this library resolve cases by default.
+     */
+    public static CaseRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Registers the given case unless a case with the same identifier is already registered, in
+     * which case the registered one is kept.
+     *
+     * @return the case registered for the identifier, which is the given one if it wasn't taken.
+     * A returned case which differs from the given one, i.e. is not {@link Object#equals equal}
+     * to it, is a conflict.
+     */
+    public Case register(Case theCase) {
+        requireNonNull(theCase, "theCase");
+        Case registered = casesByIdentifier.putIfAbsent(theCase.identifier(), theCase);
+        if (registered != null) {
+            return registered;
+        }
+        casesByStatusCode[theCase.statusCode().value()].add(theCase);
+        if (theCase instanceof DigitCodedCase) {
+            DigitCodedCase digitCodedCase = (DigitCodedCase) theCase;
+            casesByAppCode
+                    .computeIfAbsent(digitCodedCase.appCode(), k -> ConcurrentHashMap.newKeySet())
+                    .add(digitCodedCase);
+            casesByModuleCode
+                    .computeIfAbsent(digitCodedCase.moduleCode(), k -> ConcurrentHashMap.newKeySet())
+                    .add(digitCodedCase);
+        }
+        return theCase;
+    }
+
+    /**
+     * Registers the given cases as {@link #register(Case)} does.
+     *
+     * @return the given cases which conflict with cases registered for their identifiers, and so
+     * were not registered, or an empty list if there is no conflict
+     */
+    public List<Case> registerAll(Iterable<? extends Case> cases) {
+        List<Case> conflicts = new ArrayList<>();
+        for (Case theCase : cases) {
+            Case registered = register(theCase);
+            if (!registered.equals(theCase)) {
+                conflicts.add(theCase);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Returns the case registered for the given identifier, or {@code null} if none is.
+     */
+    @Nullable
+    public Case lookup(String identifier) {
+        return casesByIdentifier.get(requireNonNull(identifier, "identifier"));
+    }
+
+    /**
+     * Returns the case registered for the given identifier if its status code is the given one, or
+     * {@code null} otherwise.
+     */
+    @Nullable
+    public Case lookup(String identifier, Code statusCode) {
+        requireNonNull(statusCode, "statusCode");
+        Case theCase = lookup(identifier);
+        return theCase != null && theCase.statusCode() == statusCode ? theCase : null;
+    }
+
+    /**
+     * Returns the case registered for the given identifier if its status code is the given one, or
+     * a new {@link Case.Default} otherwise. Decoders use this method to restore cases.
+     */
+    public Case resolve(String identifier, Code statusCode) {
+        Case theCase = lookup(identifier, statusCode);
+        return theCase != null ? theCase : new Case.Default(identifier, statusCode);
+    }
+
+    /**
+     * Returns a snapshot of the registered cases with the given status code.
+     */
+    public Set<Case> casesOf(Code statusCode) {
+        return snapshot(casesByStatusCode[statusCode.value()]);
+    }
+
+    /**
+     * Returns a snapshot of the registered digit coded cases with the given app code.
+     */
+    public Set<DigitCodedCase> casesOfApp(int appCode) {
+        return snapshot(casesByAppCode.get(appCode));
+    }
+
+    /**
+     * Returns a snapshot of the registered digit coded cases with the given module code.
+     */
+    public Set<DigitCodedCase> casesOfModule(int moduleCode) {
+        return snapshot(casesByModuleCode.get(moduleCode));
+    }
+
+    private static <C extends Case> Set<C> snapshot(@Nullable Set<C> cases) {
+        if (cases == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(cases));
+    }
+
+    /**
+     * Returns the number of registered cases.
+     */
+    public int size() {
+        return casesByIdentifier.size();
+    }
+}
@@ -1,12 +1,17 @@
 package com.github.ikonglong.common.status;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Strings;
 import com.google.common.math.IntMath;
 
+import javax.annotation.Nullable;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
@@ -16,6 +21,26 @@ import static java.util.Objects.requireNonNull;
  */
 public class DigitCodedCase implements Case {
 
+    /**
+     * Returned by {@link CodingStrategy#parseIdentifier} for invalid identifiers. Valid identifiers
+     * are packed into non-negative longs.
+     */
+    public static final long INVALID_IDENTIFIER = -1L;
+
+    // Layout of packed identifiers: sign bit 0 | status code 5 bits | app code 14 bits |
+    // module code 14 bits | condition code 30 bits
+    private static final int STATUS_CODE_SHIFT = 58;
+    private static final int APP_CODE_SHIFT = 44;
+    private static final int MODULE_CODE_SHIFT = 30;
+    private static final long APP_CODE_MASK = (1L << 14) - 1;
+    private static final long MODULE_CODE_MASK = (1L << 14) - 1;
+    private static final long CONDITION_CODE_MASK = (1L << 30) - 1;
+    // The most digits of each code which fit in its bits
+    private static final int MAX_PACKED_DIGITS_OF_APP_CODE = 4;
+    private static final int MAX_PACKED_DIGITS_OF_MODULE_CODE = 4;
+    private static final int MAX_PACKED_DIGITS_OF_CONDITION_CODE = 9;
+    private static final char SEPARATOR = '_';
+
     private final int appCode;
     private final int moduleCode;
     private final int conditionCode;
@@ -24,6 +49,11 @@ public class DigitCodedCase implements Case {
 
     private final transient Status.Code statusCode;
 
+    // Cached since cases are often used as keys
+    private final transient int hash;
+    // Encoded once, since cases are mostly created once and then written over and over
+    private final transient EncodedString encodedIdentifier;
+
     DigitCodedCase(
             int appCode, int moduleCode, int conditionCode, String caseId, Status.Code statusCode) {
         checkArgument(appCode >= 0, "appCode < 0");
@@ -34,6 +64,58 @@ public class DigitCodedCase implements Case {
         this.conditionCode = conditionCode;
         this.caseId = requireNonNull(caseId, "caseId");
         this.statusCode = requireNonNull(statusCode, "statusCode");
+        this.hash = 31 * (31 * (31 * appCode + moduleCode) + conditionCode) + caseId.hashCode();
+        this.encodedIdentifier = EncodedString.of(caseId);
+    }
+
+    /**
+     * Returns a case with the given codes and identifier. Unlike {@link Factory#create}, the codes
+     * are neither validated against a coding strategy nor formatted into the identifier, which is
+     * meant for classes generated from a {@link
+     * com.github.ikonglong.common.status.catalog.CaseCatalog}, whose cases are validated at build
+     * time.
+     */
+    public static DigitCodedCase precomputed(
+            int appCode, int moduleCode, int conditionCode, String identifier, Status.Code statusCode) {
+        return new DigitCodedCase(appCode, moduleCode, conditionCode, identifier, statusCode);
+    }
+
+    /**
+     * Returns the case with the codes packed in the given long by the given strategy, which can be
+     * used as a primitive key or sent as 8 bytes instead of the identifier. The case registered in
+     * the {@link CaseRegistry#global() global registry} is returned if there is one, so that
+     * restoring a known case allocates nothing.
+     *
+     * @throws IllegalArgumentException if the long is not packed from a case of the strategy
+     * @see #toPackedLong()
+     * @see CodingStrategy#parseIdentifier(CharSequence)
+     */
+    public static DigitCodedCase fromPackedLong(long packed, CodingStrategy codingStrategy) {
+        requireNonNull(codingStrategy, "codingStrategy");
+        checkArgument(packed >= 0, "Invalid packed case: %s", packed);
+        int appCode = appCodeOf(packed);
+        int moduleCode = moduleCodeOf(packed);
+        int conditionCode = conditionCodeOf(packed);
+        Status.Code statusCode = statusCodeOf(packed);
+        checkArgument(
+                codingStrategy.appCodeRange.include(appCode)
+                        && codingStrategy.moduleCodeRange.include(moduleCode)
+                        && codingStrategy.statusCodeMapper.statusCodeFor(conditionCode) == statusCode
+                        && pack(statusCode, appCode, moduleCode, conditionCode) == packed,
+                "Packed case %s doesn't conform to %s",
+                packed,
+                codingStrategy);
+        String identifier = codingStrategy.formatIdentifier(appCode, moduleCode, conditionCode);
+        Case registered = CaseRegistry.global().lookup(identifier, statusCode);
+        if (registered instanceof DigitCodedCase) {
+            DigitCodedCase digitCoded = (DigitCodedCase) registered;
+            if (digitCoded.appCode == appCode
+                    && digitCoded.moduleCode == moduleCode
+                    && digitCoded.conditionCode == conditionCode) {
+                return digitCoded;
+            }
+        }
+        return new DigitCodedCase(appCode, moduleCode, conditionCode, identifier, statusCode);
     }
 
     public int appCode() {
@@ -58,6 +140,11 @@ public class DigitCodedCase implements Case {
         return statusCode;
     }
 
+    @Override
+    public EncodedString encodedIdentifier() {
+        return encodedIdentifier;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -75,7 +162,27 @@ public class DigitCodedCase implements Case {
 
     @Override
     public int hashCode() {
-        return Objects.hash(appCode, moduleCode, conditionCode, caseId);
+        return hash;
+    }
+
+    /**
+     * Returns the app, module, condition and status codes of this case packed into a non-negative
+     * long, as {@link CodingStrategy#parseIdentifier} does. Cases with the same codes are packed
+     * into the same long.
+     *
+     * @throws IllegalStateException if any code exceeds the bits it is packed into, i.e. app or
+     *                               module codes greater than 16383, or condition codes greater
+     *                               than 2^30 - 1
+     * @see #fromPackedLong(long, CodingStrategy)
+     */
+    public long toPackedLong() {
+        checkState(
+                appCode <= APP_CODE_MASK
+                        && moduleCode <= MODULE_CODE_MASK
+                        && conditionCode <= CONDITION_CODE_MASK,
+                "Codes of case %s exceed the packed layout",
+                caseId);
+        return pack(statusCode, appCode, moduleCode, conditionCode);
     }
 
     @Override
@@ -83,11 +190,57 @@ public class DigitCodedCase implements Case {
         return caseId;
     }
 
+    /**
+     * Returns the app code from a long packed by {@link CodingStrategy#parseIdentifier}.
+     */
+    public static int appCodeOf(long packed) {
+        return (int) ((packed >>> APP_CODE_SHIFT) & APP_CODE_MASK);
+    }
+
+    /**
+     * Returns the module code from a long packed by {@link CodingStrategy#parseIdentifier}.
+     */
+    public static int moduleCodeOf(long packed) {
+        return (int) ((packed >>> MODULE_CODE_SHIFT) & MODULE_CODE_MASK);
+    }
+
+    /**
+     * Returns the condition code from a long packed by {@link CodingStrategy#parseIdentifier}.
+     */
+    public static int conditionCodeOf(long packed) {
+        return (int) (packed & CONDITION_CODE_MASK);
+    }
+
+    /**
+     * Returns the status code from a long packed by {@link CodingStrategy#parseIdentifier}.
+     */
+    public static Status.Code statusCodeOf(long packed) {
+        return Status.fromCodeValue((int) (packed >>> STATUS_CODE_SHIFT)).code();
+    }
+
+    static long pack(Status.Code statusCode, int appCode, int moduleCode, int conditionCode) {
+        return ((long) statusCode.value() << STATUS_CODE_SHIFT)
+                | ((long) appCode << APP_CODE_SHIFT)
+                | ((long) moduleCode << MODULE_CODE_SHIFT)
+                | conditionCode;
+    }
+
+    /**
+     * Creates the cases of an app module. A case is created once per condition code and cached, so
+     * that {@link #create} returns the identical instance for the same codes.
+     */
     public static class Factory {
 
+        // Condition codes up to this bound are cached in an array, others in a map
+        private static final int MAX_CACHE_ARRAY_LENGTH = 1 << 16;
+
         private final CodingStrategy codingStrategy;
         private final int appCode;
         private final int moduleCode;
+        // Created cases indexed by their condition codes, or null if the condition code segments
+        // extend too far
+        private final AtomicReferenceArray<DigitCodedCase> casesByConditionCode;
+        private final ConcurrentMap<Integer, DigitCodedCase> casesByLargeConditionCode;
 
         private Factory(CodingStrategy codingStrategy, int appCode, int moduleCode) {
             requireThatRangeIncludeCode(codingStrategy.appCodeRange, appCode, UseAs.APP_CODE);
@@ -95,48 +248,81 @@ public class DigitCodedCase implements Case {
             this.codingStrategy = codingStrategy;
             this.appCode = appCode;
             this.moduleCode = moduleCode;
+            int maxConditionCode = codingStrategy.statusCodeMapper.maxConditionCode();
+            if (maxConditionCode < MAX_CACHE_ARRAY_LENGTH) {
+                this.casesByConditionCode = new AtomicReferenceArray<>(maxConditionCode + 1);
+                this.casesByLargeConditionCode = null;
+            } else {
+                this.casesByConditionCode = null;
+                this.casesByLargeConditionCode = new ConcurrentHashMap<>();
+            }
         }
 
         public CodingStrategy codingStrategy() {
             return codingStrategy;
         }
 
+        /**
+         * Returns the case with the given status code and condition code, which is created on the
+         * first call for the condition code and returned from the cache afterwards.
+         *
+         * @throws IllegalArgumentException if the condition code doesn't fall in the condition
+         *                                  code segment of the status code
+         */
         public DigitCodedCase create(Status.Code statusCode, int conditionCode) {
+            DigitCodedCase cached = cachedCase(conditionCode);
+            // Every condition code falls in the segment of one status code only
+            if (cached != null && cached.statusCode == statusCode) {
+                return cached;
+            }
+            return createAndCache(statusCode, conditionCode);
+        }
+
+        @Nullable
+        private DigitCodedCase cachedCase(int conditionCode) {
+            if (casesByConditionCode != null) {
+                return conditionCode >= 0 && conditionCode < casesByConditionCode.length()
+                        ? casesByConditionCode.get(conditionCode)
+                        : null;
+            }
+            return casesByLargeConditionCode.get(conditionCode);
+        }
+
+        private DigitCodedCase createAndCache(Status.Code statusCode, int conditionCode) {
             requireNonNull(statusCode, "statusCode");
             checkArgument(
                     codingStrategy.statusCodeMapper.hasMappingFor(statusCode),
                     "Given CodeMapper doesn't contain status code %s",
                     statusCode.name());
             checkArgument(
-                    codingStrategy
-                            .statusCodeMapper
-                            .conditionCodeSegmentFor(statusCode)
-                            .include(conditionCode),
-                    "Condition code segment %s for status code %s doesn't include given condition code %s",
-                    codingStrategy.statusCodeMapper.conditionCodeSegmentFor(statusCode),
+                    codingStrategy.statusCodeMapper.includes(statusCode, conditionCode),
+                    "Condition code segments %s for status code %s don't include given condition code %s",
+                    codingStrategy.statusCodeMapper.conditionCodeSegmentsFor(statusCode),
                     statusCode.name(),
                     conditionCode);
 
-            StringBuilder caseId = new StringBuilder(20);
-            if (codingStrategy.numDigitsOfAppCode > 0) {
-                caseId.append(padLeftZeros(appCode, codingStrategy.numDigitsOfAppCode)).append("_");
+            DigitCodedCase created = new DigitCodedCase(
+                    appCode,
+                    moduleCode,
+                    conditionCode,
+                    codingStrategy.formatIdentifier(appCode, moduleCode, conditionCode),
+                    statusCode);
+            DigitCodedCase cached;
+            if (casesByConditionCode != null) {
+                cached = casesByConditionCode.compareAndSet(conditionCode, null, created)
+                        ? created
+                        : casesByConditionCode.get(conditionCode);
+            } else {
+                DigitCodedCase raced = casesByLargeConditionCode.putIfAbsent(conditionCode, created);
+                cached = raced == null ? created : raced;
             }
-            if (codingStrategy.numDigitsOfModuleCode > 0) {
-                caseId.append(padLeftZeros(moduleCode, codingStrategy.numDigitsOfModuleCode)).append("_");
-            }
-            caseId.append(padLeftZeros(conditionCode, codingStrategy.numDigitsOfConditionCode));
-            return new DigitCodedCase(
-                    appCode, moduleCode, conditionCode, caseId.toString(), statusCode);
+            return cached;
         }
 
-        private void requireThatRangeIncludeCode(NumRange range, int code, UseAs useAs) {
+        private static void requireThatRangeIncludeCode(NumRange range, int code, UseAs useAs) {
             checkArgument(range.include(code), "%s: range %s not include code %s", useAs, range, code);
         }
 
-        private String padLeftZeros(int num, int minLen) {
-            return Strings.padStart(String.valueOf(num), minLen, '0');
-        }
-
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this)
@@ -191,7 +377,9 @@ public class DigitCodedCase implements Case {
 
         private int numDigitsOfConditionCode;
         private NumRange conditionCodeRange;
-        private StatusCodeMapper statusCodeMapper;
+        private SegmentedStatusCodeMapper statusCodeMapper;
+
+        private int identifierLength;
 
         private CodingStrategy() {
         }
@@ -200,10 +388,178 @@ public class DigitCodedCase implements Case {
             return new Builder();
         }
 
-        public StatusCodeMapper statusCodeMapper() {
+        public SegmentedStatusCodeMapper statusCodeMapper() {
             return statusCodeMapper;
         }
 
+        /**
+         * Parses an identifier formatted by a factory of this strategy, like {@code "1_2_052"},
+         * without allocating. The digit count of each code must match this strategy, and the
+         * condition code must fall in a condition code segment of the status code mapper.
+         *
+         * @return the app, module, condition and status codes packed into a non-negative long,
+         * which are read by {@link DigitCodedCase#appCodeOf}, {@link DigitCodedCase#moduleCodeOf},
+         * {@link DigitCodedCase#conditionCodeOf} and {@link DigitCodedCase#statusCodeOf}; or {@link
+         * #INVALID_IDENTIFIER} if the identifier is invalid
+         * @throws IllegalStateException if the codes of this strategy have more digits than can be
+         *                               packed, i.e. 4 for app and module codes and 9 for condition
+         *                               codes
+         */
+        public long parseIdentifier(CharSequence identifier) {
+            requireNonNull(identifier, "identifier");
+            checkPackable();
+            if (identifier.length() != identifierLength) {
+                return INVALID_IDENTIFIER;
+            }
+            int pos = 0;
+            int appCode = 0;
+            if (numDigitsOfAppCode > 0) {
+                appCode = parseDigits(identifier, pos, numDigitsOfAppCode);
+                pos += numDigitsOfAppCode;
+                if (appCode < 0 || identifier.charAt(pos++) != SEPARATOR) {
+                    return INVALID_IDENTIFIER;
+                }
+            }
+            int moduleCode = 0;
+            if (numDigitsOfModuleCode > 0) {
+                moduleCode = parseDigits(identifier, pos, numDigitsOfModuleCode);
+                pos += numDigitsOfModuleCode;
+                if (moduleCode < 0 || identifier.charAt(pos++) != SEPARATOR) {
+                    return INVALID_IDENTIFIER;
+                }
+            }
+            return pack(appCode, moduleCode, parseDigits(identifier, pos, numDigitsOfConditionCode));
+        }
+
+        /**
+         * Parses an identifier encoded in ASCII in the given range of bytes without allocating.
+         *
+         * @see #parseIdentifier(CharSequence)
+         */
+        public long parseIdentifier(byte[] identifier, int offset, int length) {
+            requireNonNull(identifier, "identifier");
+            checkPositionIndexes(offset, offset + length, identifier.length);
+            checkPackable();
+            if (length != identifierLength) {
+                return INVALID_IDENTIFIER;
+            }
+            int pos = offset;
+            int appCode = 0;
+            if (numDigitsOfAppCode > 0) {
+                appCode = parseDigits(identifier, pos, numDigitsOfAppCode);
+                pos += numDigitsOfAppCode;
+                if (appCode < 0 || identifier[pos++] != SEPARATOR) {
+                    return INVALID_IDENTIFIER;
+                }
+            }
+            int moduleCode = 0;
+            if (numDigitsOfModuleCode > 0) {
+                moduleCode = parseDigits(identifier, pos, numDigitsOfModuleCode);
+                pos += numDigitsOfModuleCode;
+                if (moduleCode < 0 || identifier[pos++] != SEPARATOR) {
+                    return INVALID_IDENTIFIER;
+                }
+            }
+            return pack(appCode, moduleCode, parseDigits(identifier, pos, numDigitsOfConditionCode));
+        }
+
+        /**
+         * Returns the identifier of the case which a {@link Factory} of this strategy creates for
+         * the given codes, without creating the case.
+         *
+         * @throws IllegalArgumentException if the app or module code is out of its range, or the
+         *                                  condition code doesn't fall in a condition code segment
+         *                                  of the status code
+         */
+        public String identifierOf(Status.Code statusCode, int appCode, int moduleCode, int conditionCode) {
+            requireNonNull(statusCode, "statusCode");
+            Factory.requireThatRangeIncludeCode(appCodeRange, appCode, Factory.UseAs.APP_CODE);
+            Factory.requireThatRangeIncludeCode(moduleCodeRange, moduleCode, Factory.UseAs.MODULE_CODE);
+            checkArgument(
+                    statusCodeMapper.includes(statusCode, conditionCode),
+                    "Condition code segments %s for status code %s don't include given condition code %s",
+                    statusCodeMapper.conditionCodeSegmentsFor(statusCode),
+                    statusCode.name(),
+                    conditionCode);
+            return formatIdentifier(appCode, moduleCode, conditionCode);
+        }
+
+        /**
+         * Formats the identifier of a case, like {@code "1_2_052"}, with the codes padded with
+         * leading zeros to the digit counts of this strategy.
+         */
+        String formatIdentifier(int appCode, int moduleCode, int conditionCode) {
+            StringBuilder identifier = new StringBuilder(identifierLength);
+            if (numDigitsOfAppCode > 0) {
+                appendPadded(identifier, appCode, numDigitsOfAppCode).append(SEPARATOR);
+            }
+            if (numDigitsOfModuleCode > 0) {
+                appendPadded(identifier, moduleCode, numDigitsOfModuleCode).append(SEPARATOR);
+            }
+            return appendPadded(identifier, conditionCode, numDigitsOfConditionCode).toString();
+        }
+
+        private static StringBuilder appendPadded(StringBuilder builder, int num, int minLen) {
+            for (int padding = minLen - numDigits(num); padding > 0; padding--) {
+                builder.append('0');
+            }
+            return builder.append(num);
+        }
+
+        private static int numDigits(int num) {
+            int digits = 1;
+            while (num >= 10) {
+                num /= 10;
+                digits++;
+            }
+            return digits;
+        }
+
+        private void checkPackable() {
+            checkState(
+                    numDigitsOfAppCode <= MAX_PACKED_DIGITS_OF_APP_CODE
+                            && numDigitsOfModuleCode <= MAX_PACKED_DIGITS_OF_MODULE_CODE
+                            && numDigitsOfConditionCode <= MAX_PACKED_DIGITS_OF_CONDITION_CODE,
+                    "Too many digits to pack identifiers of %s",
+                    this);
+        }
+
+        private long pack(int appCode, int moduleCode, int conditionCode) {
+            if (conditionCode < 0) {
+                return INVALID_IDENTIFIER;
+            }
+            Status.Code statusCode = statusCodeMapper.statusCodeFor(conditionCode);
+            if (statusCode == null) {
+                return INVALID_IDENTIFIER;
+            }
+            return DigitCodedCase.pack(statusCode, appCode, moduleCode, conditionCode);
+        }
+
+        // Returns the non-negative number of the digits, or -1 if any char is not a digit
+        private static int parseDigits(CharSequence s, int offset, int numDigits) {
+            int result = 0;
+            for (int i = offset; i < offset + numDigits; i++) {
+                int digit = s.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                result = result * 10 + digit;
+            }
+            return result;
+        }
+
+        private static int parseDigits(byte[] s, int offset, int numDigits) {
+            int result = 0;
+            for (int i = offset; i < offset + numDigits; i++) {
+                int digit = s[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                result = result * 10 + digit;
+            }
+            return result;
+        }
+
         @Override
         public java.lang.String toString() {
             return MoreObjects.toStringHelper(this)
@@ -240,7 +596,7 @@ public class DigitCodedCase implements Case {
                 return this;
             }
 
-            public Builder statusCodeMapper(StatusCodeMapper statusCodeMapper) {
+            public Builder statusCodeMapper(SegmentedStatusCodeMapper statusCodeMapper) {
                 strategy.statusCodeMapper = requireNonNull(statusCodeMapper, "statusCodeMapper");
                 return this;
             }
@@ -261,6 +617,12 @@ public class DigitCodedCase implements Case {
                             codeSegment,
                             strategy.statusCodeMapper.getClass().getSimpleName());
                 }
+                strategy.identifierLength =
+                        strategy.numDigitsOfAppCode
+                                + (strategy.numDigitsOfAppCode > 0 ? 1 : 0)
+                                + strategy.numDigitsOfModuleCode
+                                + (strategy.numDigitsOfModuleCode > 0 ? 1 : 0)
+                                + strategy.numDigitsOfConditionCode;
 
                 return strategy;
             }
@@ -0,0 +1,199 @@
+package com.github.ikonglong.common.status;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A string along with its UTF-8 bytes and its quoted JSON form, which are encoded once on creation
+ * so that writers copy bytes into their output rather than encoding the string on every write.
+ * It is meant for strings which are written over and over, such as {@link Case#encodedIdentifier()
+ * case identifiers}.
+ *
+ * <p>The JSON form is what Gson writes for the string by default, i.e. quoted, with {@code '"'},
+ * {@code '\'}, control characters, {@code U+2028}, {@code U+2029}, and the HTML characters {@code
+ * '<'}, {@code '>'}, {@code '&'}, {@code '='} and {@code '\''} escaped.
+ */
+@Immutable
+public final class EncodedString {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String value;
+    private final byte[] utf8;
+    private final String quotedJson;
+    private final byte[] quotedJsonUtf8;
+
+    private EncodedString(String value) {
+        this.value = value;
+        this.utf8 = value.getBytes(UTF_8);
+        this.quotedJson = quoteJson(value);
+        this.quotedJsonUtf8 = quotedJson.getBytes(UTF_8);
+    }
+
+    public static EncodedString of(String value) {
+        return new EncodedString(requireNonNull(value, "value"));
+    }
+
+    public String value() {
+        return value;
+    }
+
+    /**
+     * Returns a read-only view of the UTF-8 bytes of the string, positioned at its first byte.
+     */
+    public ByteBuffer utf8() {
+        return ByteBuffer.wrap(utf8).asReadOnlyBuffer();
+    }
+
+    public int utf8Length() {
+        return utf8.length;
+    }
+
+    /**
+     * Copies the UTF-8 bytes of the string into the given array, starting at the given offset.
+     *
+     * @return the number of bytes copied
+     * @throws IndexOutOfBoundsException if the array doesn't have enough space after the offset
+     */
+    public int copyUtf8To(byte[] dst, int offset) {
+        System.arraycopy(utf8, 0, dst, offset, utf8.length);
+        return utf8.length;
+    }
+
+    /**
+     * Puts the UTF-8 bytes of the string into the given buffer.
+     *
+     * @return the given buffer
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space remaining
+     */
+    public ByteBuffer writeUtf8To(ByteBuffer buffer) {
+        return buffer.put(utf8);
+    }
+
+    public void writeUtf8To(OutputStream out) throws IOException {
+        out.write(utf8);
+    }
+
+    /**
+     * Returns the string as a quoted JSON string, e.g. {@code "a\"b"} for {@code a"b}.
+     */
+    public String quotedJson() {
+        return quotedJson;
+    }
+
+    /**
+     * Returns a read-only view of the UTF-8 bytes of {@link #quotedJson()}, positioned at its first
+     * byte.
+     */
+    public ByteBuffer quotedJsonUtf8() {
+        return ByteBuffer.wrap(quotedJsonUtf8).asReadOnlyBuffer();
+    }
+
+    public int quotedJsonUtf8Length() {
+        return quotedJsonUtf8.length;
+    }
+
+    /**
+     * Copies the UTF-8 bytes of {@link #quotedJson()} into the given array, starting at the given
+     * offset.
+     *
+     * @return the number of bytes copied
+     * @throws IndexOutOfBoundsException if the array doesn't have enough space after the offset
+     */
+    public int copyQuotedJsonUtf8To(byte[] dst, int offset) {
+        System.arraycopy(quotedJsonUtf8, 0, dst, offset, quotedJsonUtf8.length);
+        return quotedJsonUtf8.length;
+    }
+
+    /**
+     * Puts the UTF-8 bytes of {@link #quotedJson()} into the given buffer.
+     *
+     * @return the given buffer
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space remaining
+     */
+    public ByteBuffer writeQuotedJsonUtf8To(ByteBuffer buffer) {
+        return buffer.put(quotedJsonUtf8);
+    }
+
+    public void writeQuotedJsonUtf8To(OutputStream out) throws IOException {
+        out.write(quotedJsonUtf8);
+    }
+
+    /**
+     * Returns the given string quoted and escaped as Gson does by default.
+     */
+    static String quoteJson(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2);
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                case '\b':
+                    json.append("\\b");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\f':
+                    json.append("\\f");
+                    break;
+                case '<':
+                case '>':
+                case '&':
+                case '=':
+                case '\'':
+                case '\u2028':
+                case '\u2029':
+                    appendUnicodeEscape(json, c);
+                    break;
+                default:
+                    if (c < 0x20) {
+                        appendUnicodeEscape(json, c);
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static void appendUnicodeEscape(StringBuilder json, char c) {
+        json.append("\\u")
+                .append(HEX_DIGITS[(c >>> 12) & 0xf])
+                .append(HEX_DIGITS[(c >>> 8) & 0xf])
+                .append(HEX_DIGITS[(c >>> 4) & 0xf])
+                .append(HEX_DIGITS[c & 0xf]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof EncodedString && value.equals(((EncodedString) o).value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.ikonglong.common.status;
+
+import com.github.ikonglong.common.status.Status.Code;
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Maps exception classes to {@link Status.Code status codes}, so that {@link
+ * Status#fromThrowable(Throwable, ExceptionCodeRegistry)} recognizes exceptions which neither are
+ * nor wrap a {@link StatusCarrier}:
+ *
+ * <pre>{@code
+ * static final ExceptionCodeRegistry EXCEPTION_CODES =
+ *     ExceptionCodeRegistry.newBuilder()
+ *         .map(IllegalArgumentException.class, Code.INVALID_ARGUMENT)
+ *         .map(TimeoutException.class, Code.DEADLINE_EXCEEDED)
+ *         .build();
+ * }</pre>
+ *
+ * <p>An exception is resolved to the code of its nearest mapped class, walking up from its own
+ * class through its superclasses. The result is cached per class, so resolving an exception
+ * whose class was seen before costs one lookup no matter how deep its class hierarchy is.
+ */
+@Immutable
+public final class ExceptionCodeRegistry {
+
+    /**
+     * A registry in which no exception class is mapped.
+     */
+    public static final ExceptionCodeRegistry EMPTY = newBuilder().build();
+
+    private final Map<Class<?>, Code> codes;
+    // Canonical statuses of the codes resolved for exception classes, null if none is mapped
+    private final ClassValue<Status> statuses = new ClassValue<Status>() {
+        @Override
+        protected Status computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                Code code = codes.get(c);
+                if (code != null) {
+                    return code.toStatus();
+                }
+            }
+            return null;
+        }
+    };
+
+    private ExceptionCodeRegistry(Map<Class<?>, Code> codes) {
+        this.codes = codes;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the canonical status of the code to which the class of the given exception is
+     * resolved, or {@code null} if neither it nor any of its superclasses is mapped.
+     */
+    @Nullable
+    public Status statusFor(Throwable t) {
+        return statuses.get(t.getClass());
+    }
+
+    /**
+     * Returns the code to which the given exception class is resolved, or {@code null} if neither
+     * it nor any of its superclasses is mapped.
+     */
+    @Nullable
+    public Code codeFor(Class<? extends Throwable> type) {
+        Status status = statuses.get(requireNonNull(type, "type"));
+        return status == null ? null : status.code();
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("codes", codes).toString();
+    }
+
+    public static class Builder {
+
+        private final Map<Class<?>, Code> codes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Maps the given exception class, and those of its subclasses which are not mapped
+         * themselves, to the given status code.
+         *
+         * @throws IllegalArgumentException if the exception class is already mapped
+         */
+        public Builder map(Class<? extends Throwable> type, Code code) {
+            requireNonNull(type, "type");
+            requireNonNull(code, "code");
+            checkArgument(!codes.containsKey(type), "Duplicate exception class: %s", type.getName());
+            codes.put(type, code);
+            return this;
+        }
+
+        public ExceptionCodeRegistry build() {
+            return new ExceptionCodeRegistry(new HashMap<>(codes));
+        }
+    }
+}
@@ -29,6 +29,11 @@ public enum HttpStatus {
      */
     NOT_FOUND(404),
 
+    /**
+     * 408 Request Timeout
+     */
+    REQUEST_TIMEOUT(408),
+
     /**
      * 409 Conflict
      */
@@ -64,26 +69,40 @@ public enum HttpStatus {
      */
     TIMEOUT(504);
 
-    private int code;
+    /**
+     * The minimum valid HTTP status code.
+     */
+    public static final int MIN_CODE = 100;
+
+    /**
+     * The maximum valid HTTP status code.
+     */
+    public static final int MAX_CODE = 599;
+
+    // The defined HTTP statuses indexed by their codes
+    private static final HttpStatus[] CODE_TO_HTTP_STATUS = buildCodeIndex();
+
+    private final int code;
 
     HttpStatus(int code) {
         this.code = code;
     }
 
-    public static boolean isDefined(int statusCode) {
-        for (HttpStatus status : HttpStatus.values()) {
-            if (status.code == statusCode) {
-                return true;
-            }
+    private static HttpStatus[] buildCodeIndex() {
+        HttpStatus[] index = new HttpStatus[MAX_CODE + 1];
+        for (HttpStatus status : values()) {
+            index[status.code] = status;
         }
-        return false;
+        return index;
+    }
+
+    public static boolean isDefined(int statusCode) {
+        return statusCode >= 0 && statusCode <= MAX_CODE && CODE_TO_HTTP_STATUS[statusCode] != null;
     }
 
     public static HttpStatus fromCode(int statusCode) {
-        for (HttpStatus status : HttpStatus.values()) {
-            if (status.code == statusCode) {
-                return status;
-            }
+        if (isDefined(statusCode)) {
+            return CODE_TO_HTTP_STATUS[statusCode];
         }
         throw new IllegalArgumentException(
                 format("Http status for code %d is not defined.", statusCode));
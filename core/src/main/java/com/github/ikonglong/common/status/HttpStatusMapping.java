@@ -0,0 +1,188 @@
+package com.github.ikonglong.common.status;
+
+import com.github.ikonglong.common.status.Status.Code;
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A named profile which maps every {@link Status.Code} to an {@link HttpStatus}. A profile is
+ * compiled into a flat array indexed by {@link Code#value()}, so a mapping costs one array load no
+ * matter which profile is used.
+ *
+ * <p>{@link #DEFAULT} is used by {@link Code#toHttpStatus()}. Other profiles are derived from it
+ * and can be selected per call by {@link Code#toHttpStatus(HttpStatusMapping)}, or per thread by
+ * {@link #makeCurrent()} and {@link #current()}:
+ *
+ * <pre>{@code
+ * static final HttpStatusMapping LEGACY_CLIENTS =
+ *     HttpStatusMapping.DEFAULT.toBuilder("legacy-clients")
+ *         .map(Code.DEADLINE_EXCEEDED, HttpStatus.REQUEST_TIMEOUT)
+ *         .map(Code.CANCELLED, HttpStatus.REQUEST_TIMEOUT)
+ *         .build();
+ *
+ * try (HttpStatusMapping.Scope ignored = LEGACY_CLIENTS.makeCurrent()) {
+ *     // HttpStatusMapping.current() returns LEGACY_CLIENTS in this thread
+ * }
+ * }</pre>
+ */
+@Immutable
+public final class HttpStatusMapping {
+
+    /**
+     * The default mapping which follows the HTTP mapping of the Google Cloud API Design Guide.
+     */
+    public static final HttpStatusMapping DEFAULT =
+            newBuilder("default")
+                    .map(Code.OK, HttpStatus.OK)
+                    .map(Code.INVALID_ARGUMENT, HttpStatus.BAD_REQUEST)
+                    .map(Code.FAILED_PRECONDITION, HttpStatus.BAD_REQUEST)
+                    .map(Code.OUT_OF_RANGE, HttpStatus.BAD_REQUEST)
+                    .map(Code.UNAUTHENTICATED, HttpStatus.UNAUTHORIZED)
+                    .map(Code.PERMISSION_DENIED, HttpStatus.FORBIDDEN)
+                    .map(Code.NOT_FOUND, HttpStatus.NOT_FOUND)
+                    .map(Code.ABORTED, HttpStatus.CONFLICT)
+                    .map(Code.ALREADY_EXISTS, HttpStatus.CONFLICT)
+                    .map(Code.RESOURCE_EXHAUSTED, HttpStatus.TOO_MANY_REQUESTS)
+                    .map(Code.CANCELLED, HttpStatus.CLIENT_CLOSED_REQUEST)
+                    .map(Code.DATA_LOSS, HttpStatus.INTERNAL_SERVER_ERROR)
+                    .map(Code.UNKNOWN, HttpStatus.INTERNAL_SERVER_ERROR)
+                    .map(Code.INTERNAL, HttpStatus.INTERNAL_SERVER_ERROR)
+                    .map(Code.UNIMPLEMENTED, HttpStatus.NOT_IMPLEMENTED)
+                    .map(Code.UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE)
+                    .map(Code.DEADLINE_EXCEEDED, HttpStatus.TIMEOUT)
+                    .build();
+
+    private static final ThreadLocal<HttpStatusMapping> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    // HTTP statuses indexed by the values of status codes
+    private final HttpStatus[] httpStatuses;
+
+    private HttpStatusMapping(String name, HttpStatus[] httpStatuses) {
+        this.name = name;
+        this.httpStatuses = httpStatuses;
+    }
+
+    /**
+     * Returns a builder of a mapping with the given name, in which no status code is mapped yet.
+     */
+    public static Builder newBuilder(String name) {
+        return new Builder(name, new HttpStatus[maxCodeValue() + 1]);
+    }
+
+    /**
+     * Returns the mapping selected for the current thread by {@link #makeCurrent()}, or {@link
+     * #DEFAULT} if none is selected.
+     */
+    public static HttpStatusMapping current() {
+        HttpStatusMapping current = CURRENT.get();
+        return current == null ? DEFAULT : current;
+    }
+
+    private static int maxCodeValue() {
+        int max = 0;
+        for (Code code : Code.values()) {
+            max = Math.max(max, code.value());
+        }
+        return max;
+    }
+
+    /**
+     * Returns a builder of a mapping with the given name, which starts with the mappings of this
+     * one.
+     */
+    public Builder toBuilder(String name) {
+        return new Builder(name, httpStatuses.clone());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the HTTP status to which the given status code is mapped.
+     */
+    public HttpStatus toHttpStatus(Code code) {
+        return httpStatuses[code.value()];
+    }
+
+    /**
+     * Returns the HTTP status to which the code of the given status is mapped.
+     */
+    public HttpStatus toHttpStatus(Status status) {
+        return httpStatuses[status.code().value()];
+    }
+
+    /**
+     * Selects this mapping for the current thread until the returned scope is closed, which
+     * restores the previously selected one.
+     */
+    public Scope makeCurrent() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(this);
+        return scope;
+    }
+
+    @Override
+    public String toString() {
+        MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this).add("name", name);
+        for (Code code : Code.values()) {
+            helper.add(code.name(), httpStatuses[code.value()]);
+        }
+        return helper.toString();
+    }
+
+    /**
+     * A scope in which a mapping is selected for the current thread.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final HttpStatusMapping previous;
+
+        private Scope(HttpStatusMapping previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private final String name;
+        private final HttpStatus[] httpStatuses;
+
+        private Builder(String name, HttpStatus[] httpStatuses) {
+            this.name = requireNonNull(name, "name");
+            this.httpStatuses = httpStatuses;
+        }
+
+        public Builder map(Code code, HttpStatus httpStatus) {
+            requireNonNull(code, "code");
+            httpStatuses[code.value()] = requireNonNull(httpStatus, "httpStatus");
+            return this;
+        }
+
+        public HttpStatusMapping build() {
+            for (Code code : Code.values()) {
+                checkState(
+                        httpStatuses[code.value()] != null,
+                        "Status code %s is not mapped in %s",
+                        code.name(),
+                        name);
+            }
+            return new HttpStatusMapping(name, Arrays.copyOf(httpStatuses, httpStatuses.length));
+        }
+    }
+}
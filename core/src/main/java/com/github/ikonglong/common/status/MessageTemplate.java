@@ -0,0 +1,252 @@
+package com.github.ikonglong.common.status;
+
+import com.github.ikonglong.common.status.guava.Strings;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A message template whose {@code "%s"} placeholders are located once on compilation, rather than
+ * on every formatting as by {@link Strings#lenientFormat}. Templates are meant to be compiled
+ * along with the cases they describe:
+ *
+ * <pre>{@code
+ * static final Case OUT_OF_STOCK = CASES.newFailedPrecondition(52);
+ * static final MessageTemplate OUT_OF_STOCK_MESSAGE =
+ *     MessageTemplate.compile("Insufficient inventory[=%s] of item[=%s]");
+ *
+ * Status.fromCase(OUT_OF_STOCK, OUT_OF_STOCK_MESSAGE, count, item);
+ * }</pre>
+ *
+ * <p>A template renders exactly as {@link Strings#lenientFormat} does with the same template and
+ * arguments: placeholders without an argument are kept as is, and extra arguments are appended in
+ * square braces. Besides {@link #format}, it renders straight into a {@link StringBuilder}, an
+ * {@link Appendable} or a {@link ByteBuffer}, without creating the formatted string.
+ */
+@Immutable
+public final class MessageTemplate {
+
+    private static final String PLACEHOLDER = "%s";
+    private static final byte[] PLACEHOLDER_UTF8 = PLACEHOLDER.getBytes(UTF_8);
+    private static final byte[] EXTRA_ARGS_START_UTF8 = " [".getBytes(UTF_8);
+    private static final byte[] EXTRA_ARGS_SEPARATOR_UTF8 = ", ".getBytes(UTF_8);
+
+    private final String template;
+    // The literal text around placeholders, one more than the placeholders
+    private final String[] segments;
+    private final byte[][] utf8Segments;
+    private final int literalLength;
+
+    private MessageTemplate(String template, String[] segments) {
+        this.template = template;
+        this.segments = segments;
+        this.utf8Segments = new byte[segments.length][];
+        for (int i = 0; i < segments.length; i++) {
+            utf8Segments[i] = segments[i].getBytes(UTF_8);
+        }
+        this.literalLength = template.length() - PLACEHOLDER.length() * (segments.length - 1);
+    }
+
+    /**
+     * Compiles the given template.
+     *
+     * @param template a string containing zero or more {@code "%s"} placeholder sequences. {@code
+     *                 null} is treated as the four-character string {@code "null"}.
+     */
+    public static MessageTemplate compile(@Nullable String template) {
+        template = String.valueOf(template);
+        int count = 0;
+        for (int i = template.indexOf(PLACEHOLDER); i != -1; i = template.indexOf(PLACEHOLDER, i + 2)) {
+            count++;
+        }
+        String[] segments = new String[count + 1];
+        int segmentStart = 0;
+        for (int i = 0; i < count; i++) {
+            int placeholderStart = template.indexOf(PLACEHOLDER, segmentStart);
+            segments[i] = template.substring(segmentStart, placeholderStart);
+            segmentStart = placeholderStart + 2;
+        }
+        segments[count] = template.substring(segmentStart);
+        return new MessageTemplate(template, segments);
+    }
+
+    public String template() {
+        return template;
+    }
+
+    public int placeholderCount() {
+        return segments.length - 1;
+    }
+
+    /**
+     * Returns the message rendered with the given arguments, which equals {@code
+     * Strings.lenientFormat(template(), args)}.
+     *
+     * @param args the arguments to be substituted into the placeholders. A {@code null} argument is
+     *             converted to the four-character string {@code "null"}; non-null values are
+     *             converted to strings using {@link Object#toString()}.
+     */
+    public String format(@Nullable Object... args) {
+        int numArgs = args == null ? 1 : args.length;
+        return appendTo(new StringBuilder(literalLength + 16 * numArgs), args).toString();
+    }
+
+    /**
+     * Appends the message rendered with the given arguments to the given builder.
+     *
+     * @return the given builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, @Nullable Object... args) {
+        requireNonNull(builder, "builder");
+        try {
+            appendTo((Appendable) builder, args);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder never throws IOException
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the message rendered with the given arguments to the given appendable.
+     *
+     * @return the given appendable
+     * @throws IOException if thrown by the appendable
+     */
+    public <A extends Appendable> A appendTo(A appendable, @Nullable Object... args) throws IOException {
+        requireNonNull(appendable, "appendable");
+        if (args == null) {
+            args = new Object[]{"(Object[])null"};
+        }
+        int numPlaceholders = segments.length - 1;
+        for (int i = 0; i < numPlaceholders; i++) {
+            appendable.append(segments[i]);
+            if (i < args.length) {
+                appendArg(appendable, args[i]);
+            } else {
+                appendable.append(PLACEHOLDER);
+            }
+        }
+        appendable.append(segments[numPlaceholders]);
+        appendExtraArgs(appendable, args, numPlaceholders);
+        return appendable;
+    }
+
+    private static void appendExtraArgs(Appendable appendable, Object[] args, int start) throws IOException {
+        if (start < args.length) {
+            appendable.append(" [");
+            for (int i = start; i < args.length; i++) {
+                if (i > start) {
+                    appendable.append(", ");
+                }
+                appendArg(appendable, args[i]);
+            }
+            appendable.append(']');
+        }
+    }
+
+    /**
+     * Writes the message rendered with the given arguments to the given buffer in UTF-8, starting
+     * at its position. The literal text of the template is encoded on compilation. Unpaired
+     * surrogates are written as {@code '?'}.
+     *
+     * @return the given buffer, whose position is advanced past the message
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space remaining,
+     *                                          in which case some bytes may have been written
+     */
+    public ByteBuffer writeUtf8(ByteBuffer buffer, @Nullable Object... args) {
+        requireNonNull(buffer, "buffer");
+        if (args == null) {
+            args = new Object[]{"(Object[])null"};
+        }
+        int numPlaceholders = segments.length - 1;
+        for (int i = 0; i < numPlaceholders; i++) {
+            buffer.put(utf8Segments[i]);
+            if (i < args.length) {
+                putUtf8(buffer, argToCharSequence(args[i]));
+            } else {
+                buffer.put(PLACEHOLDER_UTF8);
+            }
+        }
+        buffer.put(utf8Segments[numPlaceholders]);
+        if (numPlaceholders < args.length) {
+            buffer.put(EXTRA_ARGS_START_UTF8);
+            for (int i = numPlaceholders; i < args.length; i++) {
+                if (i > numPlaceholders) {
+                    buffer.put(EXTRA_ARGS_SEPARATOR_UTF8);
+                }
+                putUtf8(buffer, argToCharSequence(args[i]));
+            }
+            buffer.put((byte) ']');
+        }
+        return buffer;
+    }
+
+    static void appendArg(Appendable appendable, @Nullable Object arg) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            // Avoids converting the common primitive wrappers to strings first
+            StringBuilder builder = (StringBuilder) appendable;
+            if (arg instanceof Integer) {
+                builder.append(((Integer) arg).intValue());
+                return;
+            } else if (arg instanceof Long) {
+                builder.append(((Long) arg).longValue());
+                return;
+            } else if (arg instanceof Boolean) {
+                builder.append(((Boolean) arg).booleanValue());
+                return;
+            } else if (arg instanceof Character) {
+                builder.append(((Character) arg).charValue());
+                return;
+            }
+        }
+        appendable.append(argToCharSequence(arg));
+    }
+
+    private static CharSequence argToCharSequence(@Nullable Object arg) {
+        return arg instanceof String ? (String) arg : Strings.lenientToString(arg);
+    }
+
+    private static void putUtf8(ByteBuffer buffer, CharSequence s) {
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | (c >>> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.put((byte) (0xe0 | (c >>> 12)));
+                buffer.put((byte) (0x80 | ((c >>> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xf0 | (codePoint >>> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3f)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+            } else {
+                buffer.put((byte) '?');
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof MessageTemplate && template.equals(((MessageTemplate) o).template));
+    }
+
+    @Override
+    public int hashCode() {
+        return template.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.ikonglong.common.status;
+
+import com.github.ikonglong.common.status.DigitCodedCase.NumRange;
+import com.github.ikonglong.common.status.Status.Code;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SegmentedStatusCodeMapper} which maps a status code to one or more condition code
+ * segments, so that condition codes can be added for a status code after its first segment is used
+ * up:
+ *
+ * <pre>{@code
+ * SegmentedStatusCodeMapper mapper =
+ *     MultiSegmentStatusCodeMapper.newBuilder()
+ *         .add(Code.OK, NumRange.of(0, 0))
+ *         .add(Code.INVALID_ARGUMENT, NumRange.of(1, 50))
+ *         .add(Code.INVALID_ARGUMENT, NumRange.of(801, 900))
+ *         .add(Code.NOT_FOUND, NumRange.of(51, 100))
+ *         .build();
+ * }</pre>
+ *
+ * <p>Overlapping segments are rejected on {@link Builder#build()}. All segments are kept in one
+ * sorted interval index, so looking up the status code of a condition code, or checking whether a
+ * status code includes a condition code, takes the same time however many segments there are.
+ */
+public final class MultiSegmentStatusCodeMapper extends SegmentedStatusCodeMapper {
+
+    private MultiSegmentStatusCodeMapper(Map<Code, List<NumRange>> segments) {
+        super(segments);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private final Map<Code, List<NumRange>> segments = new EnumMap<>(Code.class);
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a condition code segment for the given status code.
+         */
+        public Builder add(Code statusCode, NumRange segment) {
+            requireNonNull(statusCode, "statusCode");
+            requireNonNull(segment, "segment");
+            segments.computeIfAbsent(statusCode, k -> new ArrayList<>()).add(segment);
+            return this;
+        }
+
+        /**
+         * Adds the given condition code segments for the given status code.
+         */
+        public Builder addAll(Code statusCode, Collection<NumRange> segments) {
+            for (NumRange segment : segments) {
+                add(statusCode, segment);
+            }
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if any segments overlap
+         */
+        public MultiSegmentStatusCodeMapper build() {
+            return new MultiSegmentStatusCodeMapper(segments);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.github.ikonglong.common.status;
+
+import com.github.ikonglong.common.status.DigitCodedCase.NumRange;
+import com.github.ikonglong.common.status.Status.Code;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.nonNull;
+
+/**
+ * The base of mappers which map {@link Status.Code}s to condition code segments represented by
+ * {@link NumRange}s. It indexes all segments in one sorted interval index, which answers lookups
+ * in the same time however many segments there are.
+ *
+ * <p>A {@link StatusCodeMapper} declares a segment per status code. A {@link
+ * MultiSegmentStatusCodeMapper} maps a status code to any number of segments.
+ */
+public abstract class SegmentedStatusCodeMapper {
+
+    // Condition codes up to this bound are indexed by a dense array, others by binary search
+    private static final int MAX_DENSE_INDEX_LENGTH = 1 << 16;
+
+    // The condition code segments of the status codes sorted by their starts
+    private Map<Status.Code, List<NumRange>> statusCodeToConditionCodeSegments;
+
+    // The interval index of all condition code segments, built once on construction. Status codes
+    // are indexed by condition codes if the segments end early enough, or else looked up by binary
+    // search over the sorted segment starts.
+    private Status.Code[] statusCodesByConditionCode;
+    private int[] segmentStarts;
+    private int[] segmentEnds;
+    private Status.Code[] segmentStatusCodes;
+
+    /**
+     * Creates a mapper which maps status codes to one or more condition code segments each. The
+     * lowest segment of a status code is its primary segment, which is returned by {@link
+     * #conditionCodeSegmentFor}.
+     *
+     * @throws IllegalArgumentException if any segments overlap
+     */
+    protected SegmentedStatusCodeMapper(
+            Map<Status.Code, ? extends Collection<NumRange>> segmentsByStatusCode) {
+        indexSegments(segmentsByStatusCode);
+    }
+
+    /**
+     * Creates a mapper of which the segments are indexed by {@link #indexSegments} afterwards.
+     */
+    SegmentedStatusCodeMapper() {
+    }
+
+    /**
+     * Indexes the given segments, which are copied, so the given collections can be reused.
+     *
+     * @throws IllegalArgumentException if any segments overlap
+     */
+    final void indexSegments(Map<Status.Code, ? extends Collection<NumRange>> segmentsByStatusCode) {
+        Map<Status.Code, List<NumRange>> sortedSegments = new EnumMap<>(Status.Code.class);
+        for (Map.Entry<Status.Code, ? extends Collection<NumRange>> mapping :
+                segmentsByStatusCode.entrySet()) {
+            List<NumRange> sorted = new ArrayList<>(mapping.getValue());
+            if (!sorted.isEmpty()) {
+                Collections.sort(sorted);
+                sortedSegments.put(mapping.getKey(), Collections.unmodifiableList(sorted));
+            }
+        }
+        statusCodeToConditionCodeSegments = Collections.unmodifiableMap(sortedSegments);
+        SortedMap<NumRange, Code> segments = new TreeMap<>();
+        for (Map.Entry<Status.Code, List<NumRange>> mapping : sortedSegments.entrySet()) {
+            for (NumRange segment : mapping.getValue()) {
+                Code replaced = segments.put(segment, mapping.getKey());
+                checkArgument(
+                        replaced == null,
+                        "Condition code segments of %s and %s overlap",
+                        replaced,
+                        mapping.getKey());
+            }
+        }
+        segmentStarts = new int[segments.size()];
+        segmentEnds = new int[segments.size()];
+        segmentStatusCodes = new Code[segments.size()];
+        int i = 0;
+        for (Map.Entry<NumRange, Code> segment : segments.entrySet()) {
+            NumRange range = segment.getKey();
+            checkArgument(
+                    i == 0 || segmentEnds[i - 1] < range.start(),
+                    "Condition code segments of %s and %s overlap",
+                    i == 0 ? null : segmentStatusCodes[i - 1],
+                    segment.getValue());
+            segmentStarts[i] = range.start();
+            segmentEnds[i] = range.end();
+            segmentStatusCodes[i] = segment.getValue();
+            i++;
+        }
+        int maxConditionCode = i == 0 ? -1 : segmentEnds[i - 1];
+        if (maxConditionCode < MAX_DENSE_INDEX_LENGTH) {
+            statusCodesByConditionCode = new Code[maxConditionCode + 1];
+            for (int j = 0; j < i; j++) {
+                Arrays.fill(
+                        statusCodesByConditionCode, segmentStarts[j], segmentEnds[j] + 1, segmentStatusCodes[j]);
+            }
+        } else {
+            statusCodesByConditionCode = null;
+        }
+    }
+
+    /**
+     * Returns the status code mapped to the condition code segment which includes the given
+     * condition code, or {@code null} if none includes it. It takes an array load if the segments
+     * end before 65536, or a binary search over the segments otherwise.
+     */
+    @Nullable
+    public Status.Code statusCodeFor(int conditionCode) {
+        if (statusCodesByConditionCode != null) {
+            return conditionCode >= 0 && conditionCode < statusCodesByConditionCode.length
+                    ? statusCodesByConditionCode[conditionCode]
+                    : null;
+        }
+        // Index of the last segment starting at or before the condition code
+        int low = 0;
+        int high = segmentStarts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segmentStarts[mid] <= conditionCode) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && conditionCode <= segmentEnds[high] ? segmentStatusCodes[high] : null;
+    }
+
+    /**
+     * Returns the greatest condition code in the segments, or -1 if there is no segment.
+     */
+    int maxConditionCode() {
+        return segmentEnds.length == 0 ? -1 : segmentEnds[segmentEnds.length - 1];
+    }
+
+    /**
+     * Returns whether the given condition code falls in a condition code segment of the given
+     * status code. It takes the same time as {@link #statusCodeFor} no matter how many segments
+     * the status code has.
+     */
+    public boolean includes(Status.Code statusCode, int conditionCode) {
+        return statusCode != null && statusCodeFor(conditionCode) == statusCode;
+    }
+
+    public boolean hasMappingFor(Status.Code statusCode) {
+        return statusCodeToConditionCodeSegments.containsKey(statusCode);
+    }
+
+    /**
+     * Returns the primary condition code segment of the given status code, which is the lowest one
+     * if it has several.
+     */
+    @Nullable
+    public NumRange conditionCodeSegmentFor(Status.Code statusCode) {
+        List<NumRange> segments = statusCodeToConditionCodeSegments.get(statusCode);
+        return segments == null ? null : segments.get(0);
+    }
+
+    /**
+     * Returns all condition code segments of the given status code sorted by their starts, or an
+     * empty list if it is not mapped.
+     */
+    public List<NumRange> conditionCodeSegmentsFor(Status.Code statusCode) {
+        List<NumRange> segments = statusCodeToConditionCodeSegments.get(statusCode);
+        return segments == null ? Collections.<NumRange>emptyList() : segments;
+    }
+
+    /**
+     * Returns all condition code segments of all status codes.
+     */
+    public Collection<NumRange> conditionCodeSegments() {
+        List<NumRange> segments = new ArrayList<>(segmentStarts.length);
+        for (int i = 0; i < segmentStarts.length; i++) {
+            segments.add(NumRange.of(segmentStarts[i], segmentEnds[i]));
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the condition code segment of every mapped status code.
+     *
+     * @throws IllegalStateException if a status code is mapped to several segments, whose mappings
+     *                               are returned by {@link #segmentMappings()} instead
+     */
+    public Map<Status.Code, NumRange> mappings() {
+        Map<Status.Code, NumRange> mappings = new EnumMap<>(Status.Code.class);
+        for (Map.Entry<Status.Code, List<NumRange>> mapping : statusCodeToConditionCodeSegments.entrySet()) {
+            checkState(
+                    mapping.getValue().size() == 1,
+                    "Status code %s is mapped to several condition code segments %s",
+                    mapping.getKey(),
+                    mapping.getValue());
+            mappings.put(mapping.getKey(), mapping.getValue().get(0));
+        }
+        return Collections.unmodifiableMap(mappings);
+    }
+
+    /**
+     * Returns all condition code segments of every mapped status code sorted by their starts.
+     */
+    public Map<Status.Code, List<NumRange>> segmentMappings() {
+        return statusCodeToConditionCodeSegments;
+    }
+
+    /**
+     * Returns the status codes of all condition code segments.
+     */
+    public Map<NumRange, Status.Code> inverseMappings() {
+        return Collections.unmodifiableMap(sortedInverseMappings());
+    }
+
+    /**
+     * Returns the status codes of all condition code segments sorted by the segment starts.
+     */
+    public SortedMap<NumRange, Code> sortedInverseMappings() {
+        SortedMap<NumRange, Code> mappings = new TreeMap<>();
+        for (int i = 0; i < segmentStarts.length; i++) {
+            mappings.put(NumRange.of(segmentStarts[i], segmentEnds[i]), segmentStatusCodes[i]);
+        }
+        return mappings;
+    }
+
+    @Override
+    public String toString() {
+        PrintStream output = null;
+        try {
+            ByteArrayOutputStream byteStream =
+                    new ByteArrayOutputStream((segmentStarts.length + 2) * 90 * 2);
+            output = new PrintStream(byteStream);
+            output.printf("Mapping between condition code and status:\n\n");
+            output.printf(
+                    "| %22s | %23s | %28s |\n",
+                    "Condition Code Segment", "Status (Name:Code)", "HTTP Status (Name:Code)");
+            String format = "| %22s | %20s:%2s | %24s:%3s |\n";
+            for (int i = 0; i < segmentStarts.length; i++) {
+                HttpStatus httpStatus = segmentStatusCodes[i].toHttpStatus();
+                output.printf(
+                        format,
+                        NumRange.of(segmentStarts[i], segmentEnds[i]).toString(),
+                        segmentStatusCodes[i].name(),
+                        segmentStatusCodes[i].value(),
+                        httpStatus.name(),
+                        httpStatus.code());
+            }
+            output.flush();
+            return byteStream.toString();
+        } finally {
+            if (nonNull(output)) output.close();
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package com.github.ikonglong.common.status;
 
-import com.google.common.base.MoreObjects;
 import com.github.ikonglong.common.status.guava.Strings;
 
+import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
 import java.util.*;
 
 import static com.google.common.base.Charsets.US_ASCII;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.lang.String.format;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 
@@ -35,9 +36,10 @@ import static java.util.Objects.requireNonNull;
 @Immutable
 public class Status {
 
-    private static final Map<Code, HttpStatus> STATUS_CODE_TO_HTTP_STATUS = buildCodeMappings();
-    // Create the canonical list of Status instances indexed by their code values.
-    private static final List<Status> STATUS_LIST = buildStatusList();
+    // The metadata of the status codes, including their canonical statuses, indexed by their values.
+    private static final CodeMetadata[] CODE_METADATA = buildCodeMetadata();
+    // The statuses of HTTP status codes in [100, 599] indexed by `httpStatusCode - 100`.
+    private static final Status[] HTTP_CODE_TO_STATUS = buildHttpStatusMapping();
     /**
      * The operation completed successfully.
      */
@@ -109,98 +111,128 @@ public class Status {
      * The service is currently unavailable. See {@link Code#UNAVAILABLE}.
      */
     public static final Status UNAVAILABLE = Code.UNAVAILABLE.toStatus();
-    private static final Map<HttpStatus, Status> HTTP_CODE_TO_DEFAULT_STATUS =
-            buildHttpStatusMapping();
     /**
      * Unrecoverable data loss or corruption.
      */
     public static final Status DATA_LOSS = Code.DATA_LOSS.toStatus();
 
-    private Code code;
-    private Case theCase;
-    private String message;
-    private List<Object> details;
+    // Bounds the causal chains walked by fromThrowable
+    private static final int MAX_CAUSE_DEPTH = 64;
+
+    private static volatile boolean captureStackTraceByDefault = true;
+
+    private final Code code;
+    private final Case theCase;
+    private final String message;
+    private final DeferredMessage deferredMessage;
+    private final Details details;
 
     private Status(Code code) {
         this(code, null, null, null);
     }
 
     private Status(
-            Code code, @Nullable String message, @Nullable Case theCase, @Nullable List<Object> details) {
+            Code code, @Nullable String message, @Nullable Case theCase, @Nullable Details details) {
+        this(code, message, null, theCase, details);
+    }
+
+    private Status(
+            Code code,
+            @Nullable String message,
+            @Nullable DeferredMessage deferredMessage,
+            @Nullable Case theCase,
+            @Nullable Details details) {
         this.code = requireNonNull(code, "code");
         this.message = message;
+        this.deferredMessage = deferredMessage;
         this.theCase = theCase;
-        this.details = isNull(details) ? Collections.emptyList() : details;
-    }
-
-    private static Map<Code, HttpStatus> buildCodeMappings() {
-        Map<Code, HttpStatus> mappings = new HashMap<>(Code.values().length);
-        mappings.put(Code.OK, HttpStatus.OK);
-        mappings.put(Code.INVALID_ARGUMENT, HttpStatus.BAD_REQUEST);
-        mappings.put(Code.FAILED_PRECONDITION, HttpStatus.BAD_REQUEST);
-        mappings.put(Code.OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
-        mappings.put(Code.UNAUTHENTICATED, HttpStatus.UNAUTHORIZED);
-        mappings.put(Code.PERMISSION_DENIED, HttpStatus.FORBIDDEN);
-        mappings.put(Code.NOT_FOUND, HttpStatus.NOT_FOUND);
-        mappings.put(Code.ABORTED, HttpStatus.CONFLICT);
-        mappings.put(Code.ALREADY_EXISTS, HttpStatus.CONFLICT);
-        mappings.put(Code.RESOURCE_EXHAUSTED, HttpStatus.TOO_MANY_REQUESTS);
-        mappings.put(Code.CANCELLED, HttpStatus.CLIENT_CLOSED_REQUEST);
-        mappings.put(Code.DATA_LOSS, HttpStatus.INTERNAL_SERVER_ERROR);
-        mappings.put(Code.UNKNOWN, HttpStatus.INTERNAL_SERVER_ERROR);
-        mappings.put(Code.INTERNAL, HttpStatus.INTERNAL_SERVER_ERROR);
-        mappings.put(Code.UNIMPLEMENTED, HttpStatus.NOT_IMPLEMENTED);
-        mappings.put(Code.UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
-        mappings.put(Code.DEADLINE_EXCEEDED, HttpStatus.TIMEOUT);
-        return Collections.unmodifiableMap(mappings);
-    }
-
-    private static Map<HttpStatus, Status> buildHttpStatusMapping() {
-        Map<HttpStatus, Status> mappings = new HashMap<>(HttpStatus.values().length);
-        mappings.put(HttpStatus.OK, Status.OK);
-        mappings.put(HttpStatus.BAD_REQUEST, Status.INVALID_ARGUMENT);
-        mappings.put(HttpStatus.UNAUTHORIZED, Status.UNAUTHENTICATED);
-        mappings.put(HttpStatus.FORBIDDEN, Status.PERMISSION_DENIED);
-        mappings.put(HttpStatus.NOT_FOUND, Status.NOT_FOUND);
-        mappings.put(HttpStatus.CONFLICT, Status.ALREADY_EXISTS);
-        mappings.put(HttpStatus.TOO_MANY_REQUESTS, Status.RESOURCE_EXHAUSTED);
-        mappings.put(HttpStatus.CLIENT_CLOSED_REQUEST, Status.CANCELLED);
-        mappings.put(HttpStatus.INTERNAL_SERVER_ERROR, Status.INTERNAL);
-        mappings.put(HttpStatus.NOT_IMPLEMENTED, Status.UNIMPLEMENTED);
-        mappings.put(HttpStatus.SERVICE_UNAVAILABLE, Status.UNAVAILABLE);
-        mappings.put(HttpStatus.TIMEOUT, Status.DEADLINE_EXCEEDED);
-        return Collections.unmodifiableMap(mappings);
-    }
-
-    private static List<Status> buildStatusList() {
-        TreeMap<Integer, Status> canonicalizer = new TreeMap<Integer, Status>();
-        for (Code code : Code.values()) {
-            Status replaced = canonicalizer.put(code.value(), new Status(code));
-            if (replaced != null) {
-                throw new IllegalStateException(
-                        "Code value duplication between " + replaced.code().name() + " & " + code.name());
+        this.details = isNull(details) ? Details.EMPTY : details;
+    }
+
+    private static Status[] buildHttpStatusMapping() {
+        Status[] mappings = new Status[HttpStatus.MAX_CODE - HttpStatus.MIN_CODE + 1];
+        for (int httpCode = HttpStatus.MIN_CODE; httpCode <= HttpStatus.MAX_CODE; httpCode++) {
+            Code code;
+            switch (httpCode / 100) {
+                case 2:
+                    code = Code.OK;
+                    break;
+                case 4:
+                    code = Code.FAILED_PRECONDITION;
+                    break;
+                case 5:
+                    code = Code.INTERNAL;
+                    break;
+                default:
+                    code = Code.UNKNOWN;
             }
+            // Keep the original number of the HTTP status code which has no exact mapping
+            mappings[httpCode - HttpStatus.MIN_CODE] = code.toStatus().withMessage("HTTP status code " + httpCode);
         }
-        return Collections.unmodifiableList(new ArrayList<Status>(canonicalizer.values()));
+        putHttpStatusMapping(mappings, HttpStatus.OK, Code.OK);
+        putHttpStatusMapping(mappings, HttpStatus.BAD_REQUEST, Code.INVALID_ARGUMENT);
+        putHttpStatusMapping(mappings, HttpStatus.UNAUTHORIZED, Code.UNAUTHENTICATED);
+        putHttpStatusMapping(mappings, HttpStatus.FORBIDDEN, Code.PERMISSION_DENIED);
+        putHttpStatusMapping(mappings, HttpStatus.NOT_FOUND, Code.NOT_FOUND);
+        putHttpStatusMapping(mappings, HttpStatus.REQUEST_TIMEOUT, Code.DEADLINE_EXCEEDED);
+        putHttpStatusMapping(mappings, HttpStatus.CONFLICT, Code.ALREADY_EXISTS);
+        putHttpStatusMapping(mappings, HttpStatus.TOO_MANY_REQUESTS, Code.RESOURCE_EXHAUSTED);
+        putHttpStatusMapping(mappings, HttpStatus.CLIENT_CLOSED_REQUEST, Code.CANCELLED);
+        putHttpStatusMapping(mappings, HttpStatus.INTERNAL_SERVER_ERROR, Code.INTERNAL);
+        putHttpStatusMapping(mappings, HttpStatus.NOT_IMPLEMENTED, Code.UNIMPLEMENTED);
+        putHttpStatusMapping(mappings, HttpStatus.SERVICE_UNAVAILABLE, Code.UNAVAILABLE);
+        putHttpStatusMapping(mappings, HttpStatus.TIMEOUT, Code.DEADLINE_EXCEEDED);
+        return mappings;
     }
 
+    private static void putHttpStatusMapping(Status[] mappings, HttpStatus httpStatus, Code code) {
+        mappings[httpStatus.code() - HttpStatus.MIN_CODE] = code.toStatus();
+    }
+
+    private static CodeMetadata[] buildCodeMetadata() {
+        Code[] codes = Code.values();
+        CodeMetadata[] metadata = new CodeMetadata[codes.length];
+        for (Code code : codes) {
+            checkState(
+                    code.value() >= 0 && code.value() < codes.length,
+                    "Code value %s of %s is out of [0, %s)",
+                    code.value(),
+                    code.name(),
+                    codes.length);
+            CodeMetadata replaced = metadata[code.value()];
+            checkState(
+                    replaced == null,
+                    "Code value duplication between %s & %s",
+                    replaced == null ? null : replaced.status.code().name(),
+                    code.name());
+            metadata[code.value()] = new CodeMetadata(new Status(code));
+        }
+        return metadata;
+    }
+
+    /**
+     * Return a {@link Status} given an HTTP status code. The codes defined by {@link HttpStatus} are
+     * mapped to their default statuses. The other codes in [100, 599] are mapped by their class:
+     * 2xx to {@link Code#OK}, 4xx to {@link Code#FAILED_PRECONDITION}, 5xx to {@link Code#INTERNAL}
+     * and others to {@link Code#UNKNOWN}, with a message that keeps the original code, e.g. {@code
+     * "HTTP status code 204"}. The status of a code in [100, 599] is prebuilt, so this method doesn't
+     * allocate for them.
+     */
     public static Status fromHttpStatusCode(int statusCode) {
-        if (HttpStatus.isDefined(statusCode)) {
-            return requireNonNull(
-                    HTTP_CODE_TO_DEFAULT_STATUS.get(HttpStatus.fromCode(statusCode)),
-                    () -> format("http status for code %d", statusCode));
+        if (statusCode >= HttpStatus.MIN_CODE && statusCode <= HttpStatus.MAX_CODE) {
+            return HTTP_CODE_TO_STATUS[statusCode - HttpStatus.MIN_CODE];
         }
-        return Status.UNKNOWN;
+        return UNKNOWN.withMessage("Unknown HTTP status code %s", statusCode);
     }
 
     /**
      * Return a {@link Status} given a canonical error {@link Code} value.
      */
     public static Status fromCodeValue(int codeValue) {
-        if (codeValue < 0 || codeValue > STATUS_LIST.size()) {
+        if (codeValue < 0 || codeValue >= CODE_METADATA.length) {
             return UNKNOWN.withMessage("Unknown code " + codeValue);
         } else {
-            return STATUS_LIST.get(codeValue);
+            return CODE_METADATA[codeValue].status;
         }
     }
 
@@ -214,6 +246,9 @@ public class Status {
     /**
      * Return a {@link Status} given a {@link Case} and a descriptive message.
      *
+     * <p>The message is not formatted until it is accessed for the first time. See {@link
+     * #withMessage(String, Object...)}.
+     *
      * <p>Attention! The `msgTemplate` arg is a string that takes only {@code "%s"} as placeholder.
      * Other char sequences with prefix '%' are not treated as placeholders. If the placeholder and
      * argument counts do not match, format operation returns a best-effort form of that string. Will
@@ -229,31 +264,98 @@ public class Status {
         return theCase.statusCode().toStatus().withCase(theCase, msgTemplate, msgArgs);
     }
 
+    /**
+     * Return a {@link Status} given a {@link Case} and a descriptive message rendered from a
+     * compiled template. The message is not formatted until it is accessed for the first time.
+     *
+     * @see MessageTemplate#format(Object...)
+     */
+    public static Status fromCase(Case theCase, MessageTemplate msgTemplate, Object... msgArgs) {
+        return theCase.statusCode().toStatus().withCase(theCase, msgTemplate, msgArgs);
+    }
+
     /**
      * Extract an error {@link Status} from the causal chain of a {@link Throwable}. If no status can
      * be found, a status is created with {@link Code#UNKNOWN} as its code and {@code t} as its cause.
      *
      * @return non-{@code null} status
+     * @see StatusCarrier
      */
     public static Status fromThrowable(Throwable t) {
+        return fromThrowable(t, ExceptionCodeRegistry.EMPTY);
+    }
+
+    /**
+     * Extract an error {@link Status} from the causal chain of a {@link Throwable}. Walking from
+     * {@code t} towards its root cause, the status of the first {@link StatusCarrier} is returned.
+     * If there is none, the canonical status of the code to which the first exception mapped in
+     * {@code registry} is resolved is returned, so that a mapped wrapper, e.g. a {@code
+     * CompletionException}, doesn't shadow a carrier that it wraps. If there is neither, {@link
+     * #UNKNOWN} is returned.
+     *
+     * <p>At most 64 throwables of the chain are examined, and the walk stops
+     * once the chain turns out to be cyclic.
+     *
+     * @return non-{@code null} status
+     */
+    public static Status fromThrowable(Throwable t, ExceptionCodeRegistry registry) {
+        requireNonNull(registry, "registry");
         Throwable cause = checkNotNull(t, "t");
-        while (cause != null) {
-            if (cause instanceof StatusException) {
-                return ((StatusException) cause).getStatus();
-            } else if (cause instanceof StatusRuntimeException) {
-                return ((StatusRuntimeException) cause).getStatus();
+        // Advances at half the speed of cause, which catches up with it only if the chain is cyclic
+        Throwable slow = cause;
+        Status mapped = null;
+        for (int depth = 0; depth < MAX_CAUSE_DEPTH; depth++) {
+            if (cause instanceof StatusCarrier) {
+                Status status = ((StatusCarrier) cause).getStatus();
+                if (status != null) {
+                    return status;
+                }
+            }
+            if (mapped == null) {
+                mapped = registry.statusFor(cause);
             }
             cause = cause.getCause();
+            if (cause == null) {
+                break;
+            }
+            if ((depth & 1) == 1) {
+                slow = slow.getCause();
+            }
+            if (cause == slow) {
+                break;
+            }
         }
         // Couldn't find a cause with a Status
-        return UNKNOWN;
+        return mapped != null ? mapped : UNKNOWN;
+    }
+
+    /**
+     * Sets whether the exceptions converted by {@link #asRuntimeException()} and {@link
+     * #asException()} capture a stack trace, unless their case opts out by {@link
+     * Case#captureStackTrace()}. Defaults to {@code true}.
+     *
+     * <p>Capturing the stack trace dominates the cost of creating an exception. Applications which
+     * use exceptions for expected failures, e.g. validation failures, may turn it off globally.
+     */
+    public static void setCaptureStackTraceByDefault(boolean captureStackTrace) {
+        captureStackTraceByDefault = captureStackTrace;
+    }
+
+    /**
+     * Returns whether the exceptions converted from statuses capture a stack trace by default.
+     *
+     * @see #setCaptureStackTraceByDefault(boolean)
+     */
+    public static boolean isCaptureStackTraceByDefault() {
+        return captureStackTraceByDefault;
     }
 
     static String formatThrowableMessage(Status status) {
-        if (status.message == null) {
+        String message = status.message();
+        if (message == null) {
             return status.code.toString();
         } else {
-            return status.code + ": " + status.message;
+            return status.code + ": " + message;
         }
     }
 
@@ -280,8 +382,8 @@ public class Status {
                     break;
                 }
                 codeValue += asciiCodeValue[index] - '0';
-                if (codeValue < STATUS_LIST.size()) {
-                    return STATUS_LIST.get(codeValue);
+                if (codeValue < CODE_METADATA.length) {
+                    return CODE_METADATA[codeValue].status;
                 }
                 break;
             default:
@@ -290,16 +392,12 @@ public class Status {
         return UNKNOWN.withMessage("Unknown code " + new String(asciiCodeValue, US_ASCII));
     }
 
-    private boolean isDetailsSet() {
-        return details != Collections.emptyList();
-    }
-
     /**
      * Create a derived instance of {@link Status} with the given message. Leading and trailing
      * whitespace may be removed; this may change in the future.
      */
     public Status withMessage(String message) {
-        if (Objects.equals(this.message, message)) {
+        if (this.deferredMessage == null && Objects.equals(this.message, message)) {
             return this;
         }
         return new Status(this.code, message, this.theCase, this.details);
@@ -308,6 +406,10 @@ public class Status {
     /**
      * Create a derived instance of {@link Status} with the given message.
      *
+     * <p>The message is not formatted until it is accessed for the first time, e.g. by {@link
+     * #message()}, {@link #toString()} or a serializer. So the arguments should not be modified after
+     * this call.
+     *
      * <p>Attention! The `msgTemplate` arg is a string that takes only {@code "%s"} as placeholder.
      * Other char sequences with prefix '%' are not treated as placeholders. If the placeholder and
      * argument counts do not match, format operation returns a best-effort form of that string. Will
@@ -320,7 +422,28 @@ public class Status {
      *                    converted to strings using {@link Object#toString()}.
      */
     public Status withMessage(String msgTemplate, Object... msgArgs) {
-        return withMessage(Strings.lenientFormat(msgTemplate, msgArgs));
+        if (msgArgs != null && msgArgs.length == 0) {
+            return withMessage(String.valueOf(msgTemplate));
+        }
+        return new Status(
+                this.code, null, new DeferredMessage(msgTemplate, msgArgs), this.theCase, this.details);
+    }
+
+    /**
+     * Create a derived instance of {@link Status} with the message rendered from the given compiled
+     * template, which is the same as {@link #withMessage(String, Object...)} with its source but
+     * doesn't scan it for placeholders again. The message is not formatted until it is accessed for
+     * the first time.
+     *
+     * @see MessageTemplate#format(Object...)
+     */
+    public Status withMessage(MessageTemplate msgTemplate, Object... msgArgs) {
+        requireNonNull(msgTemplate, "msgTemplate");
+        if (msgArgs != null && msgArgs.length == 0) {
+            return withMessage(msgTemplate.template());
+        }
+        return new Status(
+                this.code, null, new DeferredMessage(msgTemplate, msgArgs), this.theCase, this.details);
     }
 
     /**
@@ -328,13 +451,13 @@ public class Status {
      * detail. Leading and trailing whitespace may be removed; this may change in the future.
      */
     public Status augmentMessage(String additionalDetail) {
+        String message = message();
         if (additionalDetail == null) {
             return this;
-        } else if (this.message == null) {
+        } else if (message == null) {
             return new Status(this.code, additionalDetail, this.theCase, this.details);
         } else {
-            return new Status(
-                    this.code, this.message + "\n" + additionalDetail, this.theCase, this.details);
+            return new Status(this.code, message + "\n" + additionalDetail, this.theCase, this.details);
         }
     }
 
@@ -345,12 +468,15 @@ public class Status {
         if (Objects.equals(this.theCase, theCase)) {
             return this;
         }
-        return new Status(this.code, this.message, theCase, this.details);
+        return new Status(this.code, this.message, this.deferredMessage, theCase, this.details);
     }
 
     /**
      * Create a derived instance of {@link Status} with the given {@link Case} and message.
      *
+     * <p>The message is not formatted until it is accessed for the first time. See {@link
+     * #withMessage(String, Object...)}.
+     *
      * <p>Attention! The `msgTemplate` arg is a string that takes only {@code "%s"} as placeholder.
      * Other char sequences with prefix '%' are not treated as placeholders. If the placeholder and
      * argument counts do not match, format operation returns a best-effort form of that string. Will
@@ -363,34 +489,52 @@ public class Status {
      *                    converted to strings using {@link Object#toString()}.
      */
     public Status withCase(Case theCase, String msgTemplate, Object... msgArgs) {
-        String message = Strings.lenientFormat(msgTemplate, msgArgs);
-        if (Objects.equals(this.message, message) || Objects.equals(this.theCase, theCase)) {
-            return this;
+        if (msgArgs != null && msgArgs.length == 0) {
+            return new Status(this.code, String.valueOf(msgTemplate), theCase, this.details);
         }
-        return new Status(this.code, message, theCase, this.details);
+        return new Status(
+                this.code, null, new DeferredMessage(msgTemplate, msgArgs), theCase, this.details);
     }
 
     /**
-     * Add a detail about the failure.
+     * Create a derived instance of {@link Status} with the given {@link Case} and the message
+     * rendered from the given compiled template. The message is not formatted until it is accessed
+     * for the first time.
+     *
+     * @see MessageTemplate#format(Object...)
      */
+    public Status withCase(Case theCase, MessageTemplate msgTemplate, Object... msgArgs) {
+        requireNonNull(msgTemplate, "msgTemplate");
+        if (msgArgs != null && msgArgs.length == 0) {
+            return new Status(this.code, msgTemplate.template(), theCase, this.details);
+        }
+        return new Status(
+                this.code, null, new DeferredMessage(msgTemplate, msgArgs), theCase, this.details);
+    }
+
+    /**
+     * Create a derived instance of {@link Status} with a detail about the failure appended to the
+     * details of this status. This status is left unchanged.
+     */
+    @CheckReturnValue
     public Status addDetail(Object detail) {
         requireNonNull(detail, "detail");
-        if (!isDetailsSet()) {
-            details = new ArrayList<>(3);
-        }
-        details.add(detail);
-        return this;
+        return new Status(
+                this.code, this.message, this.deferredMessage, this.theCase, this.details.plus(detail));
     }
 
-    public Status addDetails(Iterable details) {
+    /**
+     * Create a derived instance of {@link Status} with the given details appended to the details of
+     * this status. This status is left unchanged.
+     */
+    @CheckReturnValue
+    public Status addDetails(Iterable<?> details) {
         requireNonNull(details, "details");
-        if (!isDetailsSet()) {
-            this.details = new ArrayList<>(3);
-        }
-        for (Object e : details) {
-            this.details.add(e);
+        Details newDetails = this.details.plusAll(details);
+        if (newDetails == this.details) {
+            return this;
         }
-        return this;
+        return new Status(this.code, this.message, this.deferredMessage, this.theCase, newDetails);
     }
 
     /**
@@ -405,7 +549,7 @@ public class Status {
      */
     @Nullable
     public String message() {
-        return message;
+        return deferredMessage == null ? message : deferredMessage.get();
     }
 
     /**
@@ -414,6 +558,7 @@ public class Status {
      */
     @Nonnull
     public String messagePrefixedWithStatus() {
+        String message = message();
         return new StringBuilder(message.length() + 30)
                 .append("Status: ")
                 .append(code.name())
@@ -427,6 +572,9 @@ public class Status {
         return theCase;
     }
 
+    /**
+     * Returns the details of this status. The returned list is immutable.
+     */
     public List<?> details() {
         return details;
     }
@@ -436,17 +584,7 @@ public class Status {
      */
     @Nonnull
     public RetryAdvice retryAdvice() {
-        RetryAdvice advice;
-        if (this.code == Code.UNAVAILABLE) {
-            advice = RetryAdvice.JUST_RETRY_FAILING_CALL;
-        } else if (this.code == Code.FAILED_PRECONDITION) {
-            advice = RetryAdvice.NOT_RETRY_UNTIL_STATE_FIXED;
-        } else if (this.code == Code.ABORTED || this.code == Code.RESOURCE_EXHAUSTED) {
-            advice = RetryAdvice.RETRY_AT_HIGHER_LEVEL;
-        } else {
-            advice = RetryAdvice.NO_ADVICE;
-        }
-        return advice;
+        return code.retryAdvice();
     }
 
     /**
@@ -461,7 +599,33 @@ public class Status {
      * recover this {@link Status} instance when the returned exception is in the causal chain.
      */
     public StatusRuntimeException asRuntimeException() {
-        return new StatusRuntimeException(this);
+        return asRuntimeException(captureStackTrace());
+    }
+
+    /**
+     * Convert this {@link Status} to a {@link RuntimeException} which captures a stack trace or not
+     * as specified. An exception without stack trace doesn't record suppressed exceptions either,
+     * and is much cheaper to create.
+     */
+    public StatusRuntimeException asRuntimeException(boolean captureStackTrace) {
+        if (captureStackTrace) {
+            return new StatusRuntimeException(this);
+        }
+        return new StatusRuntimeException(this, null, false);
+    }
+
+    /**
+     * Returns a {@link RuntimeException} without stack trace which is shared by all callers if this
+     * is one of the canonical statuses of codes, e.g. {@link #NOT_FOUND}, which are thrown
+     * repeatedly for expected failures. For other statuses, a new exception without stack trace is
+     * returned by every call; use {@link StatusCatalog#runtimeExceptionFor(Case)} to share the
+     * exceptions of cases.
+     *
+     * <p>The shared exceptions are effectively immutable: they have no stack trace, don't record
+     * suppressed exceptions and their causes can't be initialized.
+     */
+    public StatusRuntimeException asCachedRuntimeException() {
+        return isCanonical() ? CachedExceptions.RUNTIME[code.value()] : asRuntimeException(false);
     }
 
     /**
@@ -469,7 +633,34 @@ public class Status {
      * {@link Status} instance when the returned exception is in the causal chain.
      */
     public StatusException asException() {
-        return new StatusException(this);
+        return asException(captureStackTrace());
+    }
+
+    /**
+     * Convert this {@link Status} to an {@link Exception} which captures a stack trace or not as
+     * specified. See {@link #asRuntimeException(boolean)}.
+     */
+    public StatusException asException(boolean captureStackTrace) {
+        if (captureStackTrace) {
+            return new StatusException(this);
+        }
+        return new StatusException(this, null, false);
+    }
+
+    /**
+     * Returns an {@link Exception} without stack trace which is shared by all callers if this is one
+     * of the canonical statuses of codes. See {@link #asCachedRuntimeException()}.
+     */
+    public StatusException asCachedException() {
+        return isCanonical() ? CachedExceptions.CHECKED[code.value()] : asException(false);
+    }
+
+    private boolean isCanonical() {
+        return CODE_METADATA[code.value()].status == this;
+    }
+
+    private boolean captureStackTrace() {
+        return captureStackTraceByDefault && (theCase == null || theCase.captureStackTrace());
     }
 
     /**
@@ -477,13 +668,65 @@ public class Status {
      */
     @Override
     public String toString() {
-        return MoreObjects.toStringHelper(this)
-                .add("code", code.value)
-                .add("status", code.name())
-                .add("message", message)
-                .add("case", theCase)
-                .add("details", Objects.toString(details))
-                .toString();
+        return appendTo(new StringBuilder(128)).toString();
+    }
+
+    /**
+     * Appends the {@link #toString() string representation} of this status to the given builder.
+     *
+     * @return the given builder
+     * @see #appendTo(Appendable)
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        requireNonNull(builder, "builder");
+        try {
+            appendTo((Appendable) builder);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilder never throws IOException
+        }
+        return builder;
+    }
+
+    /**
+     * Appends the {@link #toString() string representation} of this status to the given
+     * appendable, e.g. {@code Status{code=5, status=NOT_FOUND, message=..., case=..., details=[]}}.
+     *
+     * <p>Nothing but what is written is created: the code, the case identifier and the details are
+     * appended piece by piece, and a message which has not been formatted yet is rendered straight
+     * into the appendable. So this method suits garbage-free logging layouts.
+     *
+     * @return the given appendable
+     * @throws IOException if thrown by the appendable
+     */
+    public <A extends Appendable> A appendTo(A appendable) throws IOException {
+        requireNonNull(appendable, "appendable");
+        appendable.append("Status{code=");
+        int value = code.value;
+        if (value >= 10) {
+            appendable.append((char) ('0' + value / 10));
+        }
+        appendable.append((char) ('0' + value % 10));
+        appendable.append(", status=").append(code.name()).append(", message=");
+        if (deferredMessage == null) {
+            appendable.append(message == null ? "null" : message);
+        } else {
+            deferredMessage.appendTo(appendable);
+        }
+        appendable.append(", case=").append(theCase == null ? "null" : theCase.identifier());
+        appendable.append(", details=[");
+        for (int i = 0, size = details.size(); i < size; i++) {
+            if (i > 0) {
+                appendable.append(", ");
+            }
+            Object detail = details.get(i);
+            if (detail instanceof CharSequence) {
+                appendable.append((CharSequence) detail);
+            } else {
+                MessageTemplate.appendArg(appendable, detail);
+            }
+        }
+        appendable.append("]}");
+        return appendable;
     }
 
     /**
@@ -506,6 +749,158 @@ public class Status {
         return super.hashCode();
     }
 
+    /**
+     * An immutable list of details shared by the statuses derived from each other. Appending details
+     * copies the backing array, which is cheap for the few details a status usually carries and
+     * needs no synchronization when a status is shared across threads.
+     */
+    private static final class Details extends AbstractList<Object> implements RandomAccess {
+        static final Details EMPTY = new Details(new Object[0]);
+
+        private final Object[] elements;
+
+        private Details(Object[] elements) {
+            this.elements = elements;
+        }
+
+        Details plus(Object detail) {
+            Object[] newElements = Arrays.copyOf(elements, elements.length + 1);
+            newElements[elements.length] = detail;
+            return new Details(newElements);
+        }
+
+        Details plusAll(Iterable<?> details) {
+            Object[] added;
+            if (details instanceof Collection) {
+                added = ((Collection<?>) details).toArray();
+            } else {
+                List<Object> list = new ArrayList<>();
+                for (Object e : details) {
+                    list.add(e);
+                }
+                added = list.toArray();
+            }
+            if (added.length == 0) {
+                return this;
+            }
+            Object[] newElements = Arrays.copyOf(elements, elements.length + added.length);
+            System.arraycopy(added, 0, newElements, elements.length, added.length);
+            return new Details(newElements);
+        }
+
+        @Override
+        public Object get(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    /**
+     * A message template along with its arguments of which the formatting is deferred until the
+     * message is accessed for the first time. The formatted message is memoized, so the template is
+     * formatted at most once no matter how many times or from how many threads it is accessed.
+     * Derived statuses share the same instance, and therefore the memoized message.
+     */
+    private static final class DeferredMessage {
+        // Exactly one of the templates is given
+        private final String template;
+        private final MessageTemplate compiledTemplate;
+        private Object[] args; // Released once the message is formatted
+        private volatile String formatted;
+
+        DeferredMessage(String template, Object[] args) {
+            this.template = template;
+            this.compiledTemplate = null;
+            this.args = args;
+        }
+
+        DeferredMessage(MessageTemplate compiledTemplate, Object[] args) {
+            this.template = null;
+            this.compiledTemplate = compiledTemplate;
+            this.args = args;
+        }
+
+        String get() {
+            String result = formatted;
+            if (result == null) {
+                synchronized (this) {
+                    result = formatted;
+                    if (result == null) {
+                        result = compiledTemplate == null
+                                ? Strings.lenientFormat(template, args)
+                                : compiledTemplate.format(args);
+                        formatted = result;
+                        args = null;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Appends the message, which is formatted once as by {@link #get()}. The appendable is
+         * written outside the lock, since it may do I/O, e.g. in a logging appender.
+         */
+        void appendTo(Appendable appendable) throws IOException {
+            appendable.append(get());
+        }
+    }
+
+    /**
+     * The exceptions shared by the canonical statuses of codes, indexed by code value. They are
+     * created on first use, and safely published by class initialization.
+     */
+    private static final class CachedExceptions {
+        static final StatusRuntimeException[] RUNTIME = new StatusRuntimeException[CODE_METADATA.length];
+        static final StatusException[] CHECKED = new StatusException[CODE_METADATA.length];
+
+        static {
+            for (int i = 0; i < CODE_METADATA.length; i++) {
+                RUNTIME[i] = CODE_METADATA[i].status.asRuntimeException(false);
+                CHECKED[i] = CODE_METADATA[i].status.asException(false);
+            }
+        }
+    }
+
+    /**
+     * Everything about a status code which is looked up by its value, so that each lookup is a
+     * single array load.
+     */
+    private static final class CodeMetadata {
+        final Status status;
+        final HttpStatus httpStatus;
+        final RetryAdvice retryAdvice;
+        final byte[] valueAscii;
+        final byte[] nameAscii;
+
+        CodeMetadata(Status status) {
+            Code code = status.code();
+            this.status = status;
+            this.httpStatus = HttpStatusMapping.DEFAULT.toHttpStatus(code);
+            this.retryAdvice = retryAdviceFor(code);
+            this.valueAscii = Integer.toString(code.value()).getBytes(US_ASCII);
+            this.nameAscii = code.name().getBytes(US_ASCII);
+        }
+
+        private static RetryAdvice retryAdviceFor(Code code) {
+            switch (code) {
+                case UNAVAILABLE:
+                    return RetryAdvice.JUST_RETRY_FAILING_CALL;
+                case FAILED_PRECONDITION:
+                    return RetryAdvice.NOT_RETRY_UNTIL_STATE_FIXED;
+                case ABORTED:
+                case RESOURCE_EXHAUSTED:
+                    return RetryAdvice.RETRY_AT_HIGHER_LEVEL;
+                default:
+                    return RetryAdvice.NO_ADVICE;
+            }
+        }
+    }
+
     /**
      * The set of canonical status codes.
      *
@@ -638,14 +1033,47 @@ public class Status {
          */
         UNAUTHENTICATED(16);
 
-        private final int value;
+        // Avoids the copy made by values() on every call
+        private static final Code[] VALUES = values();
 
-        @SuppressWarnings("ImmutableEnumChecker") // we make sure the byte[] can't be modified
-        private final byte[] valueAscii;
+        private final int value;
 
         private Code(int value) {
             this.value = value;
-            this.valueAscii = Integer.toString(value).getBytes(US_ASCII);
+        }
+
+        /**
+         * Returns the code with the given name, ignoring case. Unlike {@code
+         * Code.valueOf(name.toUpperCase())}, this method doesn't allocate unless the name is unknown.
+         *
+         * @throws IllegalArgumentException if no code has the given name
+         */
+        public static Code parse(CharSequence name) {
+            requireNonNull(name, "name");
+            for (Code code : VALUES) {
+                if (nameEqualsIgnoreCase(code.name(), name)) {
+                    return code;
+                }
+            }
+            throw new IllegalArgumentException("No status code named " + name);
+        }
+
+        private static boolean nameEqualsIgnoreCase(String name, CharSequence s) {
+            int length = name.length();
+            if (s.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                char c = s.charAt(i);
+                if (c >= 'a' && c <= 'z') {
+                    c -= 'a' - 'A';
+                }
+                // Names consist of upper case letters and underscores only
+                if (c != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         /**
@@ -659,7 +1087,7 @@ public class Status {
          * Returns a {@link Status} object corresponding to this status code.
          */
         public Status toStatus() {
-            return STATUS_LIST.get(value);
+            return CODE_METADATA[value].status;
         }
 
         /**
@@ -673,14 +1101,49 @@ public class Status {
         }
 
         /**
-         * Returns the http code enum corresponding to this status code.
+         * Returns the http code enum corresponding to this status code by {@link
+         * HttpStatusMapping#DEFAULT}.
          */
         public HttpStatus toHttpStatus() {
-            return STATUS_CODE_TO_HTTP_STATUS.get(this);
+            return CODE_METADATA[value].httpStatus;
+        }
+
+        /**
+         * Returns the http code enum corresponding to this status code by the given mapping.
+         */
+        public HttpStatus toHttpStatus(HttpStatusMapping mapping) {
+            return mapping.toHttpStatus(this);
         }
 
-        private byte[] valueAscii() {
-            return valueAscii;
+        /**
+         * Provides advice on retry for the statuses with this code.
+         */
+        public RetryAdvice retryAdvice() {
+            return CODE_METADATA[value].retryAdvice;
+        }
+
+        /**
+         * Copies the decimal value of this code in ASCII into the given array.
+         *
+         * @return the number of bytes copied
+         * @throws IndexOutOfBoundsException if the array doesn't have enough space from the offset
+         */
+        public int copyValueAscii(byte[] dst, int dstOffset) {
+            byte[] valueAscii = CODE_METADATA[value].valueAscii;
+            System.arraycopy(valueAscii, 0, dst, dstOffset, valueAscii.length);
+            return valueAscii.length;
+        }
+
+        /**
+         * Copies the name of this code in ASCII into the given array.
+         *
+         * @return the number of bytes copied
+         * @throws IndexOutOfBoundsException if the array doesn't have enough space from the offset
+         */
+        public int copyNameAscii(byte[] dst, int dstOffset) {
+            byte[] nameAscii = CODE_METADATA[value].nameAscii;
+            System.arraycopy(nameAscii, 0, dst, dstOffset, nameAscii.length);
+            return nameAscii.length;
         }
     }
 }
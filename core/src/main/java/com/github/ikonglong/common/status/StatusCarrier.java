@@ -0,0 +1,15 @@
+package com.github.ikonglong.common.status;
+
+/**
+ * A {@link Throwable} which carries a {@link Status}. {@link Status#fromThrowable} returns the
+ * status of the first carrier in the causal chain, so application exceptions which implement this
+ * interface are recognized without being converted to {@link StatusException} or {@link
+ * StatusRuntimeException}.
+ */
+public interface StatusCarrier {
+
+    /**
+     * Returns the status carried by this throwable, never {@code null}.
+     */
+    Status getStatus();
+}
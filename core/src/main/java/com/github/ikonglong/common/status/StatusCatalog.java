@@ -0,0 +1,236 @@
+package com.github.ikonglong.common.status;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A catalog of canonical statuses, one per registered {@link Case}. Each status is built once when
+ * the catalog is built and then handed out by lookups which neither lock nor allocate, so an error
+ * path that reports a registered case produces no garbage. Since a case always maps to the same
+ * status instance, statuses looked up from the same catalog can be compared by identity.
+ *
+ * <p>A case can be registered with a fixed message which is then carried by its status. Statuses
+ * can be looked up by case, by case identifier or, for {@link DigitCodedCase}s, by app, module and
+ * condition code. Each status also comes with exceptions without stack traces, which can be thrown
+ * repeatedly for expected failures at no cost.
+ *
+ * <pre>{@code
+ * static final StatusCatalog CATALOG =
+ *     StatusCatalog.newBuilder()
+ *         .add(ErrorCases.PURCHASE_LIMIT_EXCEEDED, "Purchase limit exceeded")
+ *         .add(ErrorCases.INSUFFICIENT_INVENTORY)
+ *         .build();
+ *
+ * throw CATALOG.statusFor(ErrorCases.PURCHASE_LIMIT_EXCEEDED).asRuntimeException();
+ * // Or, without capturing a stack trace
+ * throw CATALOG.runtimeExceptionFor(ErrorCases.PURCHASE_LIMIT_EXCEEDED);
+ * }</pre>
+ */
+@Immutable
+public final class StatusCatalog {
+
+    // Condition codes up to this value are indexed by a dense array; others by binary search.
+    private static final int MAX_DENSE_CONDITION_CODE = 1 << 16;
+
+    private final Map<String, Status> statusByIdentifier;
+    private final Map<String, StatusRuntimeException> runtimeExceptionByIdentifier;
+    private final Map<String, StatusException> exceptionByIdentifier;
+    // The condition codes of a module are indexed separately, since they are only unique in it
+    private final long[] sortedModuleKeys;
+    private final ConditionCodeIndex[] conditionCodeIndexes;
+
+    private StatusCatalog(
+            Map<String, Status> statusByIdentifier, Map<Long, Map<Integer, Status>> statusByConditionCode) {
+        this.statusByIdentifier = new HashMap<>(statusByIdentifier);
+        this.runtimeExceptionByIdentifier = new HashMap<>();
+        this.exceptionByIdentifier = new HashMap<>();
+        for (Map.Entry<String, Status> entry : statusByIdentifier.entrySet()) {
+            runtimeExceptionByIdentifier.put(entry.getKey(), entry.getValue().asRuntimeException(false));
+            exceptionByIdentifier.put(entry.getKey(), entry.getValue().asException(false));
+        }
+
+        int size = statusByConditionCode.size();
+        long[] moduleKeys = new long[size];
+        int i = 0;
+        for (Long moduleKey : statusByConditionCode.keySet()) {
+            moduleKeys[i++] = moduleKey;
+        }
+        Arrays.sort(moduleKeys);
+        ConditionCodeIndex[] indexes = new ConditionCodeIndex[size];
+        for (i = 0; i < size; i++) {
+            indexes[i] = new ConditionCodeIndex(statusByConditionCode.get(moduleKeys[i]));
+        }
+        this.sortedModuleKeys = moduleKeys;
+        this.conditionCodeIndexes = indexes;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private static long moduleKey(int appCode, int moduleCode) {
+        return ((long) appCode << 32) | (moduleCode & 0xffffffffL);
+    }
+
+    /**
+     * Returns the canonical status of the given case, or {@code null} if the case is not
+     * registered.
+     */
+    @Nullable
+    public Status statusFor(Case theCase) {
+        Status status = statusByIdentifier.get(theCase.identifier());
+        return status != null && status.theCase().statusCode() == theCase.statusCode() ? status : null;
+    }
+
+    /**
+     * Returns the canonical status of the case with the given identifier, or {@code null} if no such
+     * case is registered.
+     */
+    @Nullable
+    public Status statusFor(String caseIdentifier) {
+        return statusByIdentifier.get(caseIdentifier);
+    }
+
+    /**
+     * Returns the exception without stack trace of the canonical status of the given case, which is
+     * the same instance for every call, or {@code null} if the case is not registered. See {@link
+     * Status#asCachedRuntimeException()}.
+     */
+    @Nullable
+    public StatusRuntimeException runtimeExceptionFor(Case theCase) {
+        return statusFor(theCase) != null ? runtimeExceptionByIdentifier.get(theCase.identifier()) : null;
+    }
+
+    /**
+     * Returns the checked exception without stack trace of the canonical status of the given case,
+     * which is the same instance for every call, or {@code null} if the case is not registered.
+     */
+    @Nullable
+    public StatusException exceptionFor(Case theCase) {
+        return statusFor(theCase) != null ? exceptionByIdentifier.get(theCase.identifier()) : null;
+    }
+
+    /**
+     * Returns the canonical status of the {@link DigitCodedCase} with the given codes, or {@code
+     * null} if no such case is registered.
+     */
+    @Nullable
+    public Status statusForConditionCode(int appCode, int moduleCode, int conditionCode) {
+        int index = Arrays.binarySearch(sortedModuleKeys, moduleKey(appCode, moduleCode));
+        return index >= 0 ? conditionCodeIndexes[index].get(conditionCode) : null;
+    }
+
+    /**
+     * Returns the number of registered cases.
+     */
+    public int size() {
+        return statusByIdentifier.size();
+    }
+
+    /**
+     * The statuses of the cases of a module indexed by their condition codes.
+     */
+    private static final class ConditionCodeIndex {
+        @Nullable
+        private final Status[] statusByConditionCode;
+        private final int[] sortedConditionCodes;
+        private final Status[] statusesSortedByConditionCode;
+
+        ConditionCodeIndex(Map<Integer, Status> statusByConditionCode) {
+            int size = statusByConditionCode.size();
+            int[] conditionCodes = new int[size];
+            int i = 0;
+            for (Integer conditionCode : statusByConditionCode.keySet()) {
+                conditionCodes[i++] = conditionCode;
+            }
+            Arrays.sort(conditionCodes);
+            Status[] sortedStatuses = new Status[size];
+            for (i = 0; i < size; i++) {
+                sortedStatuses[i] = statusByConditionCode.get(conditionCodes[i]);
+            }
+
+            if (conditionCodes[size - 1] <= MAX_DENSE_CONDITION_CODE) {
+                Status[] dense = new Status[conditionCodes[size - 1] + 1];
+                for (i = 0; i < size; i++) {
+                    dense[conditionCodes[i]] = sortedStatuses[i];
+                }
+                this.statusByConditionCode = dense;
+            } else {
+                this.statusByConditionCode = null;
+            }
+            this.sortedConditionCodes = conditionCodes;
+            this.statusesSortedByConditionCode = sortedStatuses;
+        }
+
+        @Nullable
+        Status get(int conditionCode) {
+            if (statusByConditionCode != null) {
+                return conditionCode >= 0 && conditionCode < statusByConditionCode.length
+                        ? statusByConditionCode[conditionCode]
+                        : null;
+            }
+            int index = Arrays.binarySearch(sortedConditionCodes, conditionCode);
+            return index >= 0 ? statusesSortedByConditionCode[index] : null;
+        }
+    }
+
+    public static class Builder {
+
+        private final Map<String, Status> statusByIdentifier = new HashMap<>();
+        private final Map<Long, Map<Integer, Status>> statusByConditionCode = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers a case of which the status carries no message.
+         */
+        public Builder add(Case theCase) {
+            requireNonNull(theCase, "theCase");
+            return add(theCase, theCase.statusCode().toStatus().withCase(theCase));
+        }
+
+        /**
+         * Registers a case of which the status carries the given fixed message.
+         */
+        public Builder add(Case theCase, String message) {
+            requireNonNull(theCase, "theCase");
+            requireNonNull(message, "message");
+            return add(theCase, theCase.statusCode().toStatus().withCase(theCase).withMessage(message));
+        }
+
+        private Builder add(Case theCase, Status status) {
+            Status existing = statusByIdentifier.get(theCase.identifier());
+            checkArgument(
+                    existing == null,
+                    "Case identifier %s is already registered for %s",
+                    theCase.identifier(),
+                    existing);
+            if (theCase instanceof DigitCodedCase) {
+                DigitCodedCase digitCoded = (DigitCodedCase) theCase;
+                Map<Integer, Status> statusOfModule = statusByConditionCode.computeIfAbsent(
+                        moduleKey(digitCoded.appCode(), digitCoded.moduleCode()), k -> new HashMap<>());
+                // Cases of different coding strategies can share codes while their identifiers differ
+                existing = statusOfModule.get(digitCoded.conditionCode());
+                checkArgument(
+                        existing == null,
+                        "Codes of case %s are already registered for %s",
+                        theCase,
+                        existing);
+                statusOfModule.put(digitCoded.conditionCode(), status);
+            }
+            statusByIdentifier.put(theCase.identifier(), status);
+            return this;
+        }
+
+        public StatusCatalog build() {
+            return new StatusCatalog(statusByIdentifier, statusByConditionCode);
+        }
+    }
+}
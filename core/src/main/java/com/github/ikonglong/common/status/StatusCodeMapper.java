@@ -1,67 +1,46 @@
 package com.github.ikonglong.common.status;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import com.github.ikonglong.common.status.DigitCodedCase.NumRange;
-import com.github.ikonglong.common.status.Status.Code;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
-import java.util.*;
-
-import static java.util.Objects.nonNull;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This mapper maps every {@link Status.Code} to a condition code segment which is represented by an
- * object of {@link NumRange}.
+ * object of {@link NumRange}. To map a status code to several segments, see {@link
+ * MultiSegmentStatusCodeMapper}.
  */
-public abstract class StatusCodeMapper {
-
-    private BiMap<Status.Code, NumRange> statusCodeToConditionCodeSegment =
-            HashBiMap.create(Code.values().length);
+public abstract class StatusCodeMapper extends SegmentedStatusCodeMapper {
 
     protected StatusCodeMapper() {
-        statusCodeToConditionCodeSegment.put(Status.Code.OK, ok());
-        statusCodeToConditionCodeSegment.put(Status.Code.INVALID_ARGUMENT, invalidArgument());
-        statusCodeToConditionCodeSegment.put(Status.Code.FAILED_PRECONDITION, failedPrecondition());
-        statusCodeToConditionCodeSegment.put(Status.Code.OUT_OF_RANGE, outOfRange());
-        statusCodeToConditionCodeSegment.put(Status.Code.UNAUTHENTICATED, unauthenticated());
-        statusCodeToConditionCodeSegment.put(Status.Code.PERMISSION_DENIED, permissionDenied());
-        statusCodeToConditionCodeSegment.put(Status.Code.NOT_FOUND, notFound());
-        statusCodeToConditionCodeSegment.put(Status.Code.ALREADY_EXISTS, alreadyExists());
-        statusCodeToConditionCodeSegment.put(Status.Code.ABORTED, aborted());
-        statusCodeToConditionCodeSegment.put(Status.Code.RESOURCE_EXHAUSTED, resourceExhausted());
-        statusCodeToConditionCodeSegment.put(Status.Code.CANCELLED, cancelled());
-        statusCodeToConditionCodeSegment.put(Status.Code.DATA_LOSS, dataLoss());
-        statusCodeToConditionCodeSegment.put(Status.Code.UNKNOWN, unknownError());
-        statusCodeToConditionCodeSegment.put(Status.Code.INTERNAL, internalError());
-        statusCodeToConditionCodeSegment.put(Status.Code.UNIMPLEMENTED, unimplemented());
-        statusCodeToConditionCodeSegment.put(Status.Code.UNAVAILABLE, unavailable());
-        statusCodeToConditionCodeSegment.put(Status.Code.DEADLINE_EXCEEDED, deadlineExceeded());
-    }
-
-    public boolean hasMappingFor(Status.Code statusCode) {
-        return statusCodeToConditionCodeSegment.containsKey(statusCode);
-    }
-
-    public NumRange conditionCodeSegmentFor(Status.Code statusCode) {
-        return statusCodeToConditionCodeSegment.get(statusCode);
-    }
-
-    public Collection<NumRange> conditionCodeSegments() {
-        return statusCodeToConditionCodeSegment.values();
-    }
-
-    public Map<Status.Code, NumRange> mappings() {
-        return Collections.unmodifiableMap(statusCodeToConditionCodeSegment);
-    }
-
-    public Map<NumRange, Status.Code> inverseMappings() {
-        return Collections.unmodifiableMap(statusCodeToConditionCodeSegment.inverse());
-    }
-
-    public SortedMap<NumRange, Code> sortedInverseMappings() {
-        return new TreeMap<>(statusCodeToConditionCodeSegment.inverse());
+        Map<Status.Code, NumRange> declared = new EnumMap<>(Status.Code.class);
+        declared.put(Status.Code.OK, ok());
+        declared.put(Status.Code.INVALID_ARGUMENT, invalidArgument());
+        declared.put(Status.Code.FAILED_PRECONDITION, failedPrecondition());
+        declared.put(Status.Code.OUT_OF_RANGE, outOfRange());
+        declared.put(Status.Code.UNAUTHENTICATED, unauthenticated());
+        declared.put(Status.Code.PERMISSION_DENIED, permissionDenied());
+        declared.put(Status.Code.NOT_FOUND, notFound());
+        declared.put(Status.Code.ALREADY_EXISTS, alreadyExists());
+        declared.put(Status.Code.ABORTED, aborted());
+        declared.put(Status.Code.RESOURCE_EXHAUSTED, resourceExhausted());
+        declared.put(Status.Code.CANCELLED, cancelled());
+        declared.put(Status.Code.DATA_LOSS, dataLoss());
+        declared.put(Status.Code.UNKNOWN, unknownError());
+        declared.put(Status.Code.INTERNAL, internalError());
+        declared.put(Status.Code.UNIMPLEMENTED, unimplemented());
+        declared.put(Status.Code.UNAVAILABLE, unavailable());
+        declared.put(Status.Code.DEADLINE_EXCEEDED, deadlineExceeded());
+
+        Map<Status.Code, List<NumRange>> segments = new EnumMap<>(Status.Code.class);
+        for (Map.Entry<Status.Code, NumRange> mapping : declared.entrySet()) {
+            if (mapping.getValue() != null) {
+                segments.put(mapping.getKey(), Collections.singletonList(mapping.getValue()));
+            }
+        }
+        indexSegments(segments);
     }
 
     /**
@@ -165,33 +144,4 @@ public abstract class StatusCodeMapper {
      * represented by the return {@link NumRange}.
      */
     protected abstract NumRange deadlineExceeded();
-
-    @Override
-    public String toString() {
-        SortedMap<NumRange, Code> sortedMap = sortedInverseMappings();
-        PrintStream output = null;
-        try {
-            ByteArrayOutputStream byteStream = new ByteArrayOutputStream((sortedMap.size() + 2) * 90 * 2);
-            output = new PrintStream(byteStream);
-            output.printf("Mapping between condition code and status:\n\n");
-            output.printf(
-                    "| %22s | %23s | %28s |\n",
-                    "Condition Code Segment", "Status (Name:Code)", "HTTP Status (Name:Code)");
-            String format = "| %22s | %20s:%2s | %24s:%3s |\n";
-            for (Map.Entry<NumRange, Code> kv : sortedMap.entrySet()) {
-                HttpStatus httpStatus = kv.getValue().toHttpStatus();
-                output.printf(
-                        format,
-                        kv.getKey().toString(),
-                        kv.getValue().name(),
-                        kv.getValue().value(),
-                        httpStatus.name(),
-                        httpStatus.code());
-            }
-            output.flush();
-            return byteStream.toString();
-        } finally {
-            if (nonNull(output)) output.close();
-        }
-    }
 }
@@ -1,20 +1,44 @@
 package com.github.ikonglong.common.status;
 
-public class StatusException extends Exception {
+import javax.annotation.Nullable;
+
+public class StatusException extends Exception implements StatusCarrier {
 
     private final Status status;
+    // Formatted lazily since most exceptions converted from statuses are never logged
+    private String message;
 
     public StatusException(Status status) {
-        super(Status.formatThrowableMessage(status));
+        super((String) null);
         this.status = status;
     }
 
     public StatusException(Status status, Throwable cause) {
-        super(Status.formatThrowableMessage(status), cause);
+        super(null, cause);
+        this.status = status;
+    }
+
+    /**
+     * Creates an exception which captures a stack trace or not as specified. An exception without
+     * stack trace doesn't record suppressed exceptions either.
+     */
+    protected StatusException(Status status, @Nullable Throwable cause, boolean writableStackTrace) {
+        super(null, cause, writableStackTrace, writableStackTrace);
         this.status = status;
     }
 
+    @Override
     public final Status getStatus() {
         return status;
     }
+
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = Status.formatThrowableMessage(status);
+            message = result;
+        }
+        return result;
+    }
 }
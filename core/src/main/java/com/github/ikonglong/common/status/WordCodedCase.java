@@ -0,0 +1,397 @@
+package com.github.ikonglong.common.status;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents a series of error cases of which the identifiers are descriptive words, e.g. {@code
+ * INSUFFICIENT_INVENTORY} or {@code purchase_limit_exceeded}. Identifiers consist of ASCII letters,
+ * digits, {@code '_'}, {@code '-'} and {@code '.'}.
+ *
+ * <p>The cases of an application are usually compiled into a {@link Table}, which resolves
+ * identifiers given as strings, char sequences or bytes without allocating:
+ *
+ * <pre>{@code
+ * static final WordCodedCase PURCHASE_LIMIT_EXCEEDED =
+ *     new WordCodedCase("PURCHASE_LIMIT_EXCEEDED", Code.FAILED_PRECONDITION);
+ * static final WordCodedCase INSUFFICIENT_INVENTORY =
+ *     new WordCodedCase("INSUFFICIENT_INVENTORY", Code.FAILED_PRECONDITION);
+ * static final WordCodedCase.Table CASES =
+ *     WordCodedCase.Table.newBuilder()
+ *         .add(PURCHASE_LIMIT_EXCEEDED)
+ *         .add(INSUFFICIENT_INVENTORY)
+ *         .build();
+ * }</pre>
+ */
+@Immutable
+public final class WordCodedCase implements Case {
+
+    private final String identifier;
+    private final Status.Code statusCode;
+    private final boolean captureStackTrace;
+    // The identifier in ASCII, which is also its UTF-8 form
+    private final byte[] asciiIdentifier;
+    private final EncodedString encodedIdentifier;
+
+    public WordCodedCase(String identifier, Status.Code statusCode) {
+        this(identifier, statusCode, true);
+    }
+
+    /**
+     * @param captureStackTrace see {@link Case#captureStackTrace()}
+     * @throws IllegalArgumentException if the identifier is empty or contains characters other than
+     *                                  ASCII letters, digits, {@code '_'}, {@code '-'} and {@code
+     *                                  '.'}
+     */
+    public WordCodedCase(String identifier, Status.Code statusCode, boolean captureStackTrace) {
+        requireNonNull(identifier, "identifier");
+        checkArgument(isValidIdentifier(identifier), "Invalid word identifier: %s", identifier);
+        this.identifier = identifier;
+        this.statusCode = requireNonNull(statusCode, "statusCode");
+        this.captureStackTrace = captureStackTrace;
+        this.asciiIdentifier = identifier.getBytes(US_ASCII);
+        this.encodedIdentifier = EncodedString.of(identifier);
+    }
+
+    private static boolean isValidIdentifier(String identifier) {
+        if (identifier.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z')
+                    || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9')
+                    || c == '_'
+                    || c == '-'
+                    || c == '.';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String identifier() {
+        return identifier;
+    }
+
+    @Override
+    public Status.Code statusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public boolean captureStackTrace() {
+        return captureStackTrace;
+    }
+
+    @Override
+    public EncodedString encodedIdentifier() {
+        return encodedIdentifier;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        WordCodedCase that = (WordCodedCase) o;
+        return identifier.equals(that.identifier) && statusCode == that.statusCode;
+    }
+
+    @Override
+    public int hashCode() {
+        return identifier.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return identifier;
+    }
+
+    /**
+     * An immutable table of word coded cases keyed by their identifiers, compiled into a minimal
+     * perfect hash table on {@link Builder#build()}: every identifier hashes to its own slot, so a
+     * lookup hashes the key once and compares it with the single candidate in its slot. Keys can be
+     * given as {@link CharSequence char sequences} or as ASCII/UTF-8 bytes, so decoders resolve
+     * cases without creating a {@link String} for the identifier.
+     *
+     * <p>The table is built by hash and displace: identifiers are hashed into buckets of about two,
+     * and for each bucket, from the largest, a displacement is searched which moves all its
+     * identifiers to free slots. A lookup reads the displacement of the bucket of its key.
+     */
+    @Immutable
+    public static final class Table {
+
+        private static final long MULTIPLIER = 0x100000001b3L;
+        private static final long DISPLACEMENT_STEP = 0x9E3779B97F4A7C15L;
+        // The average number of identifiers per bucket
+        private static final int BUCKET_SIZE = 2;
+        // Gives up a seed once a bucket can't be placed with this many displacements
+        private static final int MAX_DISPLACEMENT = 1 << 16;
+        private static final int MAX_SEEDS = 64;
+
+        private final List<WordCodedCase> cases;
+        private final long seed;
+        private final int[] displacements;
+        // Cases indexed by their slots
+        private final WordCodedCase[] slots;
+
+        private Table(List<WordCodedCase> cases, long seed, int[] displacements, WordCodedCase[] slots) {
+            this.cases = cases;
+            this.seed = seed;
+            this.displacements = displacements;
+            this.slots = slots;
+        }
+
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * Returns the case with the given identifier, or {@code null} if none is in this table.
+         */
+        @Nullable
+        public WordCodedCase lookup(CharSequence identifier) {
+            requireNonNull(identifier, "identifier");
+            if (slots.length == 0) {
+                return null;
+            }
+            long h = seed;
+            for (int i = 0, len = identifier.length(); i < len; i++) {
+                char c = identifier.charAt(i);
+                if (c >= 0x80) {
+                    return null;
+                }
+                h = (h ^ c) * MULTIPLIER;
+            }
+            WordCodedCase candidate = slots[slotOf(h)];
+            byte[] expected = candidate.asciiIdentifier;
+            if (expected.length != identifier.length()) {
+                return null;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (expected[i] != identifier.charAt(i)) {
+                    return null;
+                }
+            }
+            return candidate;
+        }
+
+        /**
+         * Returns the case whose identifier is encoded in the given range of bytes in ASCII or
+         * UTF-8, or {@code null} if none is in this table.
+         *
+         * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+         */
+        @Nullable
+        public WordCodedCase lookup(byte[] bytes, int offset, int length) {
+            requireNonNull(bytes, "bytes");
+            checkPositionIndexes(offset, offset + length, bytes.length);
+            if (slots.length == 0) {
+                return null;
+            }
+            long h = seed;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                byte b = bytes[i];
+                if (b < 0) {
+                    return null;
+                }
+                h = (h ^ b) * MULTIPLIER;
+            }
+            WordCodedCase candidate = slots[slotOf(h)];
+            byte[] expected = candidate.asciiIdentifier;
+            if (expected.length != length) {
+                return null;
+            }
+            for (int i = 0; i < length; i++) {
+                if (expected[i] != bytes[offset + i]) {
+                    return null;
+                }
+            }
+            return candidate;
+        }
+
+        /**
+         * Returns the case with the given identifier if its status code is the given one, or
+         * {@code null} otherwise.
+         */
+        @Nullable
+        public WordCodedCase lookup(CharSequence identifier, Status.Code statusCode) {
+            requireNonNull(statusCode, "statusCode");
+            WordCodedCase theCase = lookup(identifier);
+            return theCase != null && theCase.statusCode == statusCode ? theCase : null;
+        }
+
+        private int slotOf(long hash) {
+            hash = mix(hash);
+            int bucket = (int) ((hash >>> 1) % displacements.length);
+            return slotOf(hash, displacements[bucket], slots.length);
+        }
+
+        private static int slotOf(long mixedHash, int displacement, int numSlots) {
+            return (int) ((mix(mixedHash + displacement * DISPLACEMENT_STEP) >>> 1) % numSlots);
+        }
+
+        // The finalizer of MurmurHash3, which spreads every bit of the input over the output
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53a87c5L;
+            h ^= h >>> 33;
+            return h;
+        }
+
+        private static long hash(long seed, byte[] asciiIdentifier) {
+            long h = seed;
+            for (byte b : asciiIdentifier) {
+                h = (h ^ b) * MULTIPLIER;
+            }
+            return mix(h);
+        }
+
+        /**
+         * Returns the cases in this table in the order they were added.
+         */
+        public List<WordCodedCase> cases() {
+            return cases;
+        }
+
+        public int size() {
+            return cases.size();
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("cases", cases).toString();
+        }
+
+        public static class Builder {
+
+            private final Map<String, WordCodedCase> cases = new LinkedHashMap<>();
+
+            private Builder() {
+            }
+
+            /**
+             * Adds a new case with the given identifier and status code.
+             *
+             * @throws IllegalArgumentException if the identifier is invalid or already added
+             */
+            public Builder add(String identifier, Status.Code statusCode) {
+                return add(new WordCodedCase(identifier, statusCode));
+            }
+
+            /**
+             * Adds the given case.
+             *
+             * @throws IllegalArgumentException if its identifier is already added
+             */
+            public Builder add(WordCodedCase theCase) {
+                requireNonNull(theCase, "theCase");
+                checkArgument(
+                        !cases.containsKey(theCase.identifier),
+                        "Duplicate word identifier: %s",
+                        theCase.identifier);
+                cases.put(theCase.identifier, theCase);
+                return this;
+            }
+
+            /**
+             * Compiles the added cases into a table. Decoders restore the cases once they are
+             * registered, e.g. by {@code CaseRegistry.global().registerAll(table.cases())}.
+             */
+            public Table build() {
+                List<WordCodedCase> added = Collections.unmodifiableList(new ArrayList<>(cases.values()));
+                Table table = null;
+                for (long seed = 0; table == null && seed < MAX_SEEDS; seed++) {
+                    table = tryBuild(added, seed);
+                }
+                if (table == null) {
+                    // Practically unreachable, which needs distinct identifiers with equal hashes
+                    // under every seed
+                    throw new IllegalStateException("Failed to build a perfect hash table for " + added);
+                }
+                return table;
+            }
+
+            @Nullable
+            private static Table tryBuild(List<WordCodedCase> cases, long seed) {
+                int n = cases.size();
+                int numBuckets = Math.max(1, (n + BUCKET_SIZE - 1) / BUCKET_SIZE);
+                long[] hashes = new long[n];
+                List<List<Integer>> buckets = new ArrayList<>(numBuckets);
+                for (int b = 0; b < numBuckets; b++) {
+                    buckets.add(new ArrayList<>(BUCKET_SIZE * 2));
+                }
+                for (int i = 0; i < n; i++) {
+                    hashes[i] = hash(seed, cases.get(i).asciiIdentifier);
+                    buckets.get((int) ((hashes[i] >>> 1) % numBuckets)).add(i);
+                }
+                Integer[] bucketOrder = new Integer[numBuckets];
+                for (int b = 0; b < numBuckets; b++) {
+                    bucketOrder[b] = b;
+                }
+                Arrays.sort(bucketOrder, (b1, b2) -> buckets.get(b2).size() - buckets.get(b1).size());
+
+                int[] displacements = new int[numBuckets];
+                WordCodedCase[] slots = new WordCodedCase[n];
+                Set<Integer> bucketSlots = new HashSet<>();
+                for (int b : bucketOrder) {
+                    List<Integer> bucket = buckets.get(b);
+                    if (bucket.isEmpty()) {
+                        break;
+                    }
+                    int displacement = 0;
+                    while (!fits(bucket, hashes, displacement, slots, bucketSlots)) {
+                        if (++displacement == MAX_DISPLACEMENT) {
+                            return null;
+                        }
+                    }
+                    displacements[b] = displacement;
+                    for (int i : bucket) {
+                        slots[slotOf(hashes[i], displacement, n)] = cases.get(i);
+                    }
+                }
+                return new Table(cases, seed, displacements, slots);
+            }
+
+            private static boolean fits(
+                    List<Integer> bucket,
+                    long[] hashes,
+                    int displacement,
+                    WordCodedCase[] slots,
+                    Set<Integer> bucketSlots) {
+                bucketSlots.clear();
+                for (int i : bucket) {
+                    int slot = slotOf(hashes[i], displacement, slots.length);
+                    if (slots[slot] != null || !bucketSlots.add(slot)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,535 @@
+package com.github.ikonglong.common.status.binary;
+
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.EncodedString;
+import com.github.ikonglong.common.status.Status;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Encodes statuses into a compact binary form for RPCs between services which share this library,
+ * and decodes them back. A status is encoded as
+ *
+ * <pre>
+ * version    1 byte, {@value #VERSION}
+ * code       1 byte, the value of the status code
+ * case       varint 0 for no case, 1 followed by the identifier, or 2 + the index of the case in
+ *            the case dictionary
+ * message    varint 0 for no message, or 1 + the length of the message followed by the message
+ * details    varint number of details, each of which is encoded by the {@link DetailCodec}
+ * </pre>
+ *
+ * <p>where strings are in UTF-8, preceded by their lengths in bytes as varints unless stated
+ * otherwise, and varints are unsigned LEB128 integers as in Protocol Buffers. Fixed-size numbers,
+ * i.e. the doubles of {@link DetailCodec#BASIC}, are big-endian whatever the {@link
+ * ByteBuffer#order() order} of the buffer. Decoders reject versions which they don't know, so the
+ * format can evolve.
+ *
+ * <p>A case dictionary, e.g. the {@code cases()} of a generated case catalog, lets the cases in it
+ * be encoded as indexes of a byte or two. Both ends must be built with the same dictionary in the
+ * same order; cases out of it fall back to their identifiers, which are copied from their {@link
+ * Case#encodedIdentifier() cached encoded forms}. Cases are resolved by a {@link CaseRegistry} on
+ * decoding.
+ *
+ * <p>Statuses are written into and read from {@link ByteBuffer}s in place, so several statuses can
+ * be written into a buffer one after another and read back in the same order.
+ */
+@Immutable
+public final class StatusBinaryCodec {
+
+    /**
+     * The version of the format written by this codec.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * A codec without a case dictionary, which encodes details by {@link DetailCodec#BASIC} and
+     * resolves cases by the {@link CaseRegistry#global() global registry}.
+     */
+    public static final StatusBinaryCodec DEFAULT = newBuilder().build();
+
+    private static final int NO_CASE = 0;
+    private static final int CASE_IDENTIFIER = 1;
+    private static final int FIRST_CASE_INDEX = 2;
+    private static final int NO_MESSAGE = 0;
+
+    private final Case[] caseDictionary;
+    private final Map<String, Integer> caseIndexes;
+    private final CaseRegistry caseRegistry;
+    private final DetailCodec detailCodec;
+
+    private StatusBinaryCodec(Builder builder) {
+        this.caseDictionary = builder.caseDictionary.toArray(new Case[0]);
+        this.caseIndexes = new HashMap<>();
+        for (int i = 0; i < caseDictionary.length; i++) {
+            Integer replaced = caseIndexes.put(caseDictionary[i].identifier(), i);
+            checkArgument(replaced == null, "Duplicate case %s in the case dictionary", caseDictionary[i]);
+        }
+        this.caseRegistry = builder.caseRegistry;
+        this.detailCodec = builder.detailCodec;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of bytes which the given status is encoded into.
+     *
+     * @throws IllegalArgumentException if the status has a detail which can't be encoded
+     */
+    public int encodedLength(Status status) {
+        requireNonNull(status, "status");
+        int length = 2;
+        Case theCase = status.theCase();
+        if (theCase == null) {
+            length += 1;
+        } else {
+            Integer index = caseIndexes.get(theCase.identifier());
+            if (index != null) {
+                length += varintLength(FIRST_CASE_INDEX + index);
+            } else {
+                int identifierLength = theCase.encodedIdentifier().utf8Length();
+                length += 1 + varintLength(identifierLength) + identifierLength;
+            }
+        }
+        String message = status.message();
+        if (message == null) {
+            length += 1;
+        } else {
+            int messageLength = utf8Length(message);
+            length += varintLength(messageLength + 1) + messageLength;
+        }
+        List<?> details = status.details();
+        length += varintLength(details.size());
+        for (Object detail : details) {
+            length += detailCodec.encodedLength(detail);
+        }
+        return length;
+    }
+
+    /**
+     * Encodes the given status into a heap buffer of the exact capacity, positioned at its first
+     * byte.
+     *
+     * @throws IllegalArgumentException if the status has a detail which can't be encoded
+     */
+    public ByteBuffer encode(Status status) {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedLength(status));
+        encodeTo(buffer, status);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Encodes the given status into the given buffer, starting at its position.
+     *
+     * @return the given buffer, whose position is advanced past the status
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space remaining,
+     *                                          in which case some bytes may have been written
+     * @throws IllegalArgumentException         if the status has a detail which can't be encoded
+     */
+    public ByteBuffer encodeTo(ByteBuffer buffer, Status status) {
+        requireNonNull(buffer, "buffer");
+        requireNonNull(status, "status");
+        buffer.put((byte) VERSION).put((byte) status.code().value());
+
+        Case theCase = status.theCase();
+        if (theCase == null) {
+            buffer.put((byte) NO_CASE);
+        } else {
+            Integer index = caseIndexes.get(theCase.identifier());
+            if (index != null) {
+                putVarint(buffer, FIRST_CASE_INDEX + index);
+            } else {
+                EncodedString identifier = theCase.encodedIdentifier();
+                buffer.put((byte) CASE_IDENTIFIER);
+                putVarint(buffer, identifier.utf8Length());
+                identifier.writeUtf8To(buffer);
+            }
+        }
+
+        String message = status.message();
+        if (message == null) {
+            buffer.put((byte) NO_MESSAGE);
+        } else {
+            putVarint(buffer, utf8Length(message) + 1);
+            putUtf8(buffer, message);
+        }
+
+        List<?> details = status.details();
+        putVarint(buffer, details.size());
+        for (Object detail : details) {
+            detailCodec.encode(detail, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Decodes a status from the given buffer, starting at its position.
+     *
+     * @return the status, after which the position of the buffer is advanced
+     * @throws IllegalArgumentException          if the bytes are not a status, or of an unknown
+     *                                           version
+     * @throws java.nio.BufferUnderflowException if the buffer ends in the middle of the status
+     */
+    public Status decode(ByteBuffer buffer) {
+        requireNonNull(buffer, "buffer");
+        int version = buffer.get() & 0xff;
+        checkArgument(version == VERSION, "Unsupported version %s of encoded status", version);
+        Status status = Status.fromCodeValue(buffer.get() & 0xff);
+
+        int caseTag = getVarint(buffer);
+        if (caseTag == CASE_IDENTIFIER) {
+            String identifier = getUtf8(buffer, getVarint(buffer));
+            status = status.withCase(caseRegistry.resolve(identifier, status.code()));
+        } else if (caseTag >= FIRST_CASE_INDEX) {
+            int index = caseTag - FIRST_CASE_INDEX;
+            checkArgument(index < caseDictionary.length,
+                    "Case index %s is out of the case dictionary of size %s", index, caseDictionary.length);
+            status = status.withCase(caseDictionary[index]);
+        }
+
+        int messageTag = getVarint(buffer);
+        if (messageTag != NO_MESSAGE) {
+            status = status.withMessage(getUtf8(buffer, messageTag - 1));
+        }
+
+        int numDetails = getVarint(buffer);
+        if (numDetails > 0) {
+            // Each detail takes at least a byte, which bounds the list of a corrupted count
+            checkArgument(numDetails <= buffer.remaining(),
+                    "Number of details %s exceeds the remaining bytes", numDetails);
+            List<Object> details = new ArrayList<>(numDetails);
+            for (int i = 0; i < numDetails; i++) {
+                details.add(detailCodec.decode(buffer));
+            }
+            status = status.addDetails(details);
+        }
+        return status;
+    }
+
+    static int varintLength(int value) {
+        int length = 1;
+        while ((value & ~0x7f) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7f) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                checkArgument(value >= 0, "Varint overflows a non-negative int");
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // Unpaired surrogates are counted and written as '?', as String.getBytes does
+    static int utf8Length(String s) {
+        int length = s.length();
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                }
+            } else if (c >= 0x80) {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    static void putUtf8(ByteBuffer buffer, String s) {
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | (c >>> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.put((byte) (0xe0 | (c >>> 12)));
+                buffer.put((byte) (0x80 | ((c >>> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xf0 | (codePoint >>> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3f)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+            } else {
+                buffer.put((byte) '?');
+            }
+        }
+    }
+
+    // Decodes from the backing array of heap buffers directly
+    static String getUtf8(ByteBuffer buffer, int length) {
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String s;
+        if (buffer.hasArray()) {
+            s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            s = new String(bytes, UTF_8);
+        }
+        return s;
+    }
+
+    public static final class Builder {
+        private List<Case> caseDictionary = new ArrayList<>();
+        private CaseRegistry caseRegistry = CaseRegistry.global();
+        private DetailCodec detailCodec = DetailCodec.BASIC;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the cases which are encoded as their indexes in the given order. The decoding end
+         * must be built with the same cases in the same order.
+         */
+        public Builder caseDictionary(Iterable<? extends Case> cases) {
+            List<Case> caseDictionary = new ArrayList<>();
+            for (Case theCase : requireNonNull(cases, "cases")) {
+                caseDictionary.add(requireNonNull(theCase, "case"));
+            }
+            this.caseDictionary = caseDictionary;
+            return this;
+        }
+
+        /**
+         * Sets the registry by which cases out of the case dictionary are resolved on decoding.
+         * Defaults to the {@link CaseRegistry#global() global registry}.
+         */
+        public Builder caseRegistry(CaseRegistry caseRegistry) {
+            this.caseRegistry = requireNonNull(caseRegistry, "caseRegistry");
+            return this;
+        }
+
+        /**
+         * Sets the codec of details. Defaults to {@link DetailCodec#BASIC}.
+         */
+        public Builder detailCodec(DetailCodec detailCodec) {
+            this.detailCodec = requireNonNull(detailCodec, "detailCodec");
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the case dictionary has duplicate identifiers
+         */
+        public StatusBinaryCodec build() {
+            return new StatusBinaryCodec(this);
+        }
+    }
+
+    /**
+     * Encodes details of statuses into buffers and decodes them back. Every detail must be encoded
+     * into at least a byte.
+     */
+    public interface DetailCodec {
+
+        /**
+         * Encodes {@code null}s, {@link CharSequence}s as strings, {@link Boolean}s, {@link
+         * Integer}s, {@link Long}s and {@link Double}s, each preceded by a byte of its type.
+         * Doubles are encoded as the 8 bytes of their IEEE 754 bits, big-endian. Details of other
+         * types are rejected with {@link IllegalArgumentException}.
+         */
+        DetailCodec BASIC = new BasicDetailCodec();
+
+        /**
+         * Returns the number of bytes which the given detail is encoded into.
+         *
+         * @throws IllegalArgumentException if the detail can't be encoded
+         */
+        int encodedLength(@Nullable Object detail);
+
+        /**
+         * Encodes the given detail into the given buffer, starting at its position.
+         *
+         * @throws IllegalArgumentException if the detail can't be encoded
+         */
+        void encode(@Nullable Object detail, ByteBuffer buffer);
+
+        /**
+         * Decodes a detail from the given buffer, starting at its position.
+         */
+        @Nullable
+        Object decode(ByteBuffer buffer);
+    }
+
+    private static final class BasicDetailCodec implements DetailCodec {
+        private static final byte NULL = 0;
+        private static final byte STRING = 1;
+        private static final byte FALSE = 2;
+        private static final byte TRUE = 3;
+        // Zigzag varints, as sint32 and sint64 of Protocol Buffers
+        private static final byte INT = 4;
+        private static final byte LONG = 5;
+        private static final byte DOUBLE = 6;
+
+        @Override
+        public int encodedLength(@Nullable Object detail) {
+            if (detail == null || detail instanceof Boolean) {
+                return 1;
+            } else if (detail instanceof CharSequence) {
+                int length = utf8Length(detail.toString());
+                return 1 + varintLength(length) + length;
+            } else if (detail instanceof Integer) {
+                return 1 + varintLength(zigzag((Integer) detail));
+            } else if (detail instanceof Long) {
+                return 1 + varintLength(zigzag((Long) detail));
+            } else if (detail instanceof Double) {
+                return 1 + Double.BYTES;
+            }
+            throw unsupported(detail);
+        }
+
+        @Override
+        public void encode(@Nullable Object detail, ByteBuffer buffer) {
+            if (detail == null) {
+                buffer.put(NULL);
+            } else if (detail instanceof Boolean) {
+                buffer.put((Boolean) detail ? TRUE : FALSE);
+            } else if (detail instanceof CharSequence) {
+                String s = detail.toString();
+                buffer.put(STRING);
+                putVarint(buffer, utf8Length(s));
+                putUtf8(buffer, s);
+            } else if (detail instanceof Integer) {
+                buffer.put(INT);
+                putVarint(buffer, zigzag((Integer) detail));
+            } else if (detail instanceof Long) {
+                buffer.put(LONG);
+                putVarint(buffer, zigzag((Long) detail));
+            } else if (detail instanceof Double) {
+                buffer.put(DOUBLE);
+                putBigEndian(buffer, Double.doubleToRawLongBits((Double) detail));
+            } else {
+                throw unsupported(detail);
+            }
+        }
+
+        @Override
+        @Nullable
+        public Object decode(ByteBuffer buffer) {
+            byte type = buffer.get();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return getUtf8(buffer, getVarint(buffer));
+                case FALSE:
+                    return Boolean.FALSE;
+                case TRUE:
+                    return Boolean.TRUE;
+                case INT: {
+                    int n = getVarint32(buffer);
+                    return (n >>> 1) ^ -(n & 1);
+                }
+                case LONG: {
+                    long n = getVarint64(buffer);
+                    return (n >>> 1) ^ -(n & 1);
+                }
+                case DOUBLE:
+                    return Double.longBitsToDouble(getBigEndian(buffer));
+                default:
+                    throw new IllegalArgumentException("Unknown detail type " + type);
+            }
+        }
+
+        private static IllegalArgumentException unsupported(Object detail) {
+            return new IllegalArgumentException(
+                    "Unsupported detail type " + detail.getClass().getName() + ", use a custom DetailCodec");
+        }
+
+        // Regardless of the order of the buffer, which is up to the caller
+        private static void putBigEndian(ByteBuffer buffer, long value) {
+            buffer.putLong(buffer.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value));
+        }
+
+        private static long getBigEndian(ByteBuffer buffer) {
+            long value = buffer.getLong();
+            return buffer.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+        }
+
+        private static long zigzag(int n) {
+            return Integer.toUnsignedLong((n << 1) ^ (n >> 31));
+        }
+
+        private static long zigzag(long n) {
+            return (n << 1) ^ (n >> 63);
+        }
+
+        private static int varintLength(long value) {
+            int length = 1;
+            while ((value & ~0x7fL) != 0) {
+                value >>>= 7;
+                length++;
+            }
+            return length;
+        }
+
+        private static void putVarint(ByteBuffer buffer, long value) {
+            while ((value & ~0x7fL) != 0) {
+                buffer.put((byte) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        // Unlike getVarint, which is for lengths, allows all 32 bits
+        private static int getVarint32(ByteBuffer buffer) {
+            long value = getVarint64(buffer);
+            checkArgument((value >>> 32) == 0, "Varint overflows an int");
+            return (int) value;
+        }
+
+        private static long getVarint64(ByteBuffer buffer) {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.ikonglong.common.status.catalog;
+
+import com.github.ikonglong.common.status.DigitCodedCase;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.StatusCodeMapper;
+import com.github.ikonglong.common.status.StatusCodeToNumRangeMapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a catalog of {@link DigitCodedCase}s, from which the case catalog processor of the
+ * {@code status-processor} module generates a class holding the cases as constants. The condition
+ * codes of the cases are declared by the int constants of the annotated type which are annotated
+ * with {@link CaseDef}:
+ *
+ * <pre>{@code
+ * @CaseCatalog(numDigitsOfAppCode = 2, numDigitsOfModuleCode = 2, appCode = 9, moduleCode = 2)
+ * interface OrderCaseDefs {
+ *     @CaseDef(Code.INVALID_ARGUMENT)
+ *     int INVALID_ITEM = 1;
+ *     @CaseDef(Code.FAILED_PRECONDITION)
+ *     int INSUFFICIENT_INVENTORY = 52;
+ * }
+ * }</pre>
+ *
+ * <p>The above generates a class {@code OrderCaseDefsCatalog} in the same package, with constants
+ * {@code INVALID_ITEM} and {@code INSUFFICIENT_INVENTORY} of identifiers {@code "09_02_001"} and
+ * {@code "09_02_052"}. Identifiers are formatted, and condition codes validated against the
+ * segments, at build time; an invalid catalog fails the compilation.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface CaseCatalog {
+
+    int numDigitsOfAppCode();
+
+    int numDigitsOfModuleCode();
+
+    int numDigitsOfConditionCode() default 3;
+
+    int appCode() default 0;
+
+    int moduleCode() default 0;
+
+    /**
+     * The condition code segments of the status codes. Segments can't be read from a {@link
+     * StatusCodeMapper} subclass at build time, so a catalog
+     * not using those of {@link StatusCodeToNumRangeMapper}, which is the default if none is
+     * given, declares its own here.
+     */
+    Segment[] segments() default {};
+
+    /**
+     * The simple name of the generated class. Defaults to the name of the annotated type suffixed
+     * with {@code Catalog}.
+     */
+    String className() default "";
+
+    /**
+     * A condition code segment of a status code.
+     */
+    @Documented
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({})
+    @interface Segment {
+
+        Status.Code status();
+
+        int start();
+
+        int end();
+    }
+}
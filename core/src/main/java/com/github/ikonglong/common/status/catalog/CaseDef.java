@@ -0,0 +1,21 @@
+package com.github.ikonglong.common.status.catalog;
+
+import com.github.ikonglong.common.status.Status;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a case of a {@link CaseCatalog} with the given status code. The annotated field must be
+ * an int constant, whose value is the condition code of the case.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface CaseDef {
+
+    Status.Code value();
+}
@@ -300,7 +300,11 @@ public final class Strings {
         return builder.toString();
     }
 
-    private static String lenientToString(@Nullable Object o) {
+    /**
+     * Converts the given object to a string as {@link #lenientFormat} converts its arguments, which
+     * never throws an exception thrown by {@code toString()}.
+     */
+    public static String lenientToString(@Nullable Object o) {
         try {
             return String.valueOf(o);
         } catch (Exception e) {
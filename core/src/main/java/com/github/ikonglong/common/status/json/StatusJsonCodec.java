@@ -0,0 +1,638 @@
+package com.github.ikonglong.common.status.json;
+
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.EncodedString;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE_CODE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE_CODE_STRING_FORM;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CODE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_DETAILS;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_MESSAGE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_STATUS;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Encodes statuses into UTF-8 JSON bytes and decodes them back, with no JSON library and no
+ * {@link String} or {@code char[]} stage on encoding. The bytes are identical to what {@code
+ * StatusJson.DEFAULT_INSTANCE} of the gson module writes:
+ *
+ * <pre>{@code
+ * {"code":5,"status":"NOT_FOUND","message":"No order 42","details":["a"],"theCase":"1_2_251"}
+ * }</pre>
+ *
+ * <p>The leading {@code {"code":5,"status":"NOT_FOUND","message":} is encoded once per {@link Code},
+ * and case identifiers are copied from their {@link Case#encodedIdentifier() cached encoded
+ * forms}, so only messages and details are escaped on encoding.
+ *
+ * <p>Details may be {@code null}s, {@link CharSequence}s, {@link Character}s, {@link Boolean}s,
+ * {@link Number}s, {@link Map}s and {@link Iterable}s of them. Decoded details are {@link String}s,
+ * {@link Double}s, {@link Boolean}s, {@code null}s, {@link List}s and {@link Map}s, as Gson decodes
+ * them, except that arrays and objects nested more than 255 levels deep are rejected rather than
+ * exhausting the stack. The cases of decoded statuses are resolved by a {@link CaseRegistry}.
+ */
+@Immutable
+public final class StatusJsonCodec {
+
+    /**
+     * A codec which resolves cases by the {@link CaseRegistry#global() global registry}.
+     */
+    public static final StatusJsonCodec DEFAULT = new StatusJsonCodec(CaseRegistry.global());
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // The encoded heads of statuses indexed by the values of their codes
+    private static final byte[][] HEADS = new byte[Code.values().length][];
+    private static final byte[] DETAILS_HEAD = utf8(",\"" + PROP_DETAILS + "\":[");
+    private static final byte[] CASE_HEAD = utf8(",\"" + PROP_CASE + "\":");
+    private static final byte[] NULL = utf8("null");
+    private static final byte[] TRUE = utf8("true");
+    private static final byte[] FALSE = utf8("false");
+    // The deepest nesting of arrays and objects which is decoded, as the parser is recursive
+    private static final int MAX_DEPTH = 255;
+
+    static {
+        for (Code code : Code.values()) {
+            HEADS[code.value()] = utf8("{\"" + PROP_CODE + "\":" + code.value()
+                    + ",\"" + PROP_STATUS + "\":\"" + code.name()
+                    + "\",\"" + PROP_MESSAGE + "\":");
+        }
+    }
+
+    private final CaseRegistry caseRegistry;
+
+    public StatusJsonCodec(CaseRegistry caseRegistry) {
+        this.caseRegistry = requireNonNull(caseRegistry, "caseRegistry");
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(UTF_8);
+    }
+
+    /**
+     * Returns the number of bytes which the given status is encoded into.
+     *
+     * @throws IllegalArgumentException if the status has a detail which can't be encoded
+     */
+    public int encodedLength(Status status) {
+        return encode(null, requireNonNull(status, "status"));
+    }
+
+    /**
+     * Encodes the given status into an array of the exact length.
+     *
+     * @throws IllegalArgumentException if the status has a detail which can't be encoded
+     */
+    public byte[] encode(Status status) {
+        byte[] json = new byte[encodedLength(status)];
+        encode(ByteBuffer.wrap(json), status);
+        return json;
+    }
+
+    /**
+     * Encodes the given status into the given buffer, starting at its position.
+     *
+     * @return the given buffer, whose position is advanced past the status
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space remaining,
+     *                                          in which case some bytes may have been written
+     * @throws IllegalArgumentException         if the status has a detail which can't be encoded
+     */
+    public ByteBuffer encodeTo(ByteBuffer buffer, Status status) {
+        encode(requireNonNull(buffer, "buffer"), requireNonNull(status, "status"));
+        return buffer;
+    }
+
+    // Writes the status into the buffer unless it is null, and returns the number of bytes
+    private static int encode(@Nullable ByteBuffer out, Status status) {
+        int length = put(out, HEADS[status.code().value()]);
+        String message = status.message();
+        length += message == null ? put(out, NULL) : putString(out, message);
+        List<?> details = status.details();
+        if (!details.isEmpty()) {
+            length += put(out, DETAILS_HEAD);
+            boolean first = true;
+            for (Object detail : details) {
+                length += first ? 0 : put(out, (byte) ',');
+                length += putValue(out, detail);
+                first = false;
+            }
+            length += put(out, (byte) ']');
+        }
+        length += put(out, CASE_HEAD);
+        Case theCase = status.theCase();
+        if (theCase == null) {
+            length += put(out, NULL);
+        } else {
+            EncodedString identifier = theCase.encodedIdentifier();
+            if (out != null) {
+                identifier.writeQuotedJsonUtf8To(out);
+            }
+            length += identifier.quotedJsonUtf8Length();
+        }
+        return length + put(out, (byte) '}');
+    }
+
+    private static int putValue(@Nullable ByteBuffer out, @Nullable Object value) {
+        if (value == null) {
+            return put(out, NULL);
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            return putString(out, value.toString());
+        } else if (value instanceof Boolean) {
+            return put(out, (Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Number) {
+            if ((value instanceof Double && !Double.isFinite((Double) value))
+                    || (value instanceof Float && !Float.isFinite((Float) value))) {
+                throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+            }
+            return putAscii(out, value.toString());
+        } else if (value instanceof Map) {
+            int length = put(out, (byte) '{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                length += first ? 0 : put(out, (byte) ',');
+                length += putString(out, String.valueOf(entry.getKey()));
+                length += put(out, (byte) ':');
+                length += putValue(out, entry.getValue());
+                first = false;
+            }
+            return length + put(out, (byte) '}');
+        } else if (value instanceof Iterable) {
+            int length = put(out, (byte) '[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                length += first ? 0 : put(out, (byte) ',');
+                length += putValue(out, element);
+                first = false;
+            }
+            return length + put(out, (byte) ']');
+        }
+        throw new IllegalArgumentException("Unsupported detail type: " + value.getClass().getName());
+    }
+
+    private static int put(@Nullable ByteBuffer out, byte b) {
+        if (out != null) {
+            out.put(b);
+        }
+        return 1;
+    }
+
+    private static int put(@Nullable ByteBuffer out, byte[] bytes) {
+        if (out != null) {
+            out.put(bytes);
+        }
+        return bytes.length;
+    }
+
+    private static int putAscii(@Nullable ByteBuffer out, String s) {
+        if (out != null) {
+            for (int i = 0; i < s.length(); i++) {
+                out.put((byte) s.charAt(i));
+            }
+        }
+        return s.length();
+    }
+
+    // Writes the given string quoted, escaped as Gson does by default, in UTF-8. Unpaired surrogates
+    // are written as '?', as String.getBytes does.
+    private static int putString(@Nullable ByteBuffer out, String s) {
+        int length = put(out, (byte) '"');
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '"':
+                    case '\\':
+                        length += put(out, (byte) '\\') + put(out, (byte) c);
+                        break;
+                    case '\t':
+                        length += put(out, (byte) '\\') + put(out, (byte) 't');
+                        break;
+                    case '\b':
+                        length += put(out, (byte) '\\') + put(out, (byte) 'b');
+                        break;
+                    case '\n':
+                        length += put(out, (byte) '\\') + put(out, (byte) 'n');
+                        break;
+                    case '\r':
+                        length += put(out, (byte) '\\') + put(out, (byte) 'r');
+                        break;
+                    case '\f':
+                        length += put(out, (byte) '\\') + put(out, (byte) 'f');
+                        break;
+                    case '<':
+                    case '>':
+                    case '&':
+                    case '=':
+                    case '\'':
+                        length += putUnicodeEscape(out, c);
+                        break;
+                    default:
+                        length += c < 0x20 ? putUnicodeEscape(out, c) : put(out, (byte) c);
+                }
+            } else if (c < 0x800) {
+                length += put(out, (byte) (0xc0 | (c >>> 6))) + put(out, (byte) (0x80 | (c & 0x3f)));
+            } else if (c == '\u2028' || c == '\u2029') {
+                length += putUnicodeEscape(out, c);
+            } else if (!Character.isSurrogate(c)) {
+                length += put(out, (byte) (0xe0 | (c >>> 12)))
+                        + put(out, (byte) (0x80 | ((c >>> 6) & 0x3f)))
+                        + put(out, (byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                length += put(out, (byte) (0xf0 | (codePoint >>> 18)))
+                        + put(out, (byte) (0x80 | ((codePoint >>> 12) & 0x3f)))
+                        + put(out, (byte) (0x80 | ((codePoint >>> 6) & 0x3f)))
+                        + put(out, (byte) (0x80 | (codePoint & 0x3f)));
+            } else {
+                length += put(out, (byte) '?');
+            }
+        }
+        return length + put(out, (byte) '"');
+    }
+
+    private static int putUnicodeEscape(@Nullable ByteBuffer out, char c) {
+        if (out != null) {
+            out.put((byte) '\\').put((byte) 'u')
+                    .put((byte) HEX_DIGITS[(c >>> 12) & 0xf])
+                    .put((byte) HEX_DIGITS[(c >>> 8) & 0xf])
+                    .put((byte) HEX_DIGITS[(c >>> 4) & 0xf])
+                    .put((byte) HEX_DIGITS[c & 0xf]);
+        }
+        return 6;
+    }
+
+    /**
+     * Decodes a status from the given UTF-8 JSON bytes in one pass. Properties other than those
+     * of statuses are skipped. Statuses written by 1.x, whose cases are given by a {@code caseCode}
+     * object, are decoded as well.
+     *
+     * @throws IllegalArgumentException if the bytes are not a JSON object of a status
+     */
+    public Status decode(byte[] json) {
+        return decode(json, 0, json.length);
+    }
+
+    /**
+     * Decodes a status from the given range of UTF-8 JSON bytes.
+     *
+     * @throws IllegalArgumentException  if the bytes are not a JSON object of a status
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+     */
+    public Status decode(byte[] json, int offset, int length) {
+        requireNonNull(json, "json");
+        checkPositionIndexes(offset, offset + length, json.length);
+        Parser parser = new Parser(json, offset, offset + length);
+        Status status = decode(parser);
+        parser.skipWhitespace();
+        if (parser.pos != parser.limit) {
+            throw parser.error("Unexpected data after the status");
+        }
+        return status;
+    }
+
+    /**
+     * Decodes a status from the remaining bytes of the given buffer, whose position is advanced to
+     * its limit.
+     *
+     * @throws IllegalArgumentException if the bytes are not a JSON object of a status
+     */
+    public Status decode(ByteBuffer json) {
+        Status status;
+        if (json.hasArray()) {
+            int offset = json.arrayOffset() + json.position();
+            status = decode(json.array(), offset, json.remaining());
+        } else {
+            byte[] bytes = new byte[json.remaining()];
+            json.duplicate().get(bytes);
+            status = decode(bytes);
+        }
+        json.position(json.limit());
+        return status;
+    }
+
+    private Status decode(Parser parser) {
+        int codeValue = -1;
+        String statusName = null;
+        String message = null;
+        String caseIdentifier = null;
+        String legacyCaseIdentifier = null;
+        List<Object> details = null;
+
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.readString();
+                parser.expect(':');
+                if (parser.consumeNull()) {
+                    continue;
+                }
+                switch (name) {
+                    case PROP_CODE:
+                        codeValue = parser.readInt();
+                        break;
+                    case PROP_STATUS:
+                        statusName = parser.readString();
+                        break;
+                    case PROP_MESSAGE:
+                        message = parser.readString();
+                        break;
+                    case PROP_CASE:
+                        caseIdentifier = parser.readString();
+                        break;
+                    case PROP_CASE_CODE:
+                        legacyCaseIdentifier = readLegacyCaseIdentifier(parser);
+                        break;
+                    case PROP_DETAILS:
+                        details = parser.readArray();
+                        break;
+                    default:
+                        parser.readValue();
+                }
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+
+        Status status;
+        if (codeValue >= 0) {
+            status = Status.fromCodeValue(codeValue);
+        } else if (statusName != null) {
+            status = Code.parse(statusName).toStatus();
+        } else {
+            throw parser.error("Neither '" + PROP_CODE + "' nor '" + PROP_STATUS + "' is present");
+        }
+        // `theCase` takes precedence over `caseCode` written by 1.x
+        String identifier = caseIdentifier != null ? caseIdentifier : legacyCaseIdentifier;
+        if (identifier != null) {
+            status = status.withCase(caseRegistry.resolve(identifier, status.code()));
+        }
+        status = status.withMessage(message);
+        if (details != null) {
+            status = status.addDetails(details);
+        }
+        return status;
+    }
+
+    @Nullable
+    private static String readLegacyCaseIdentifier(Parser parser) {
+        Object caseCode = parser.readValue();
+        if (caseCode instanceof Map) {
+            Object stringForm = ((Map<?, ?>) caseCode).get(PROP_CASE_CODE_STRING_FORM);
+            return stringForm == null ? null : stringForm.toString();
+        }
+        return null;
+    }
+
+    /**
+     * A JSON parser over a range of UTF-8 bytes.
+     */
+    private static final class Parser {
+        private final byte[] bytes;
+        private final int limit;
+        private int pos;
+        // The number of arrays and objects being read
+        private int depth;
+
+        Parser(byte[] bytes, int pos, int limit) {
+            this.bytes = bytes;
+            this.pos = pos;
+            this.limit = limit;
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + pos);
+        }
+
+        void skipWhitespace() {
+            while (pos < limit) {
+                byte b = bytes[pos];
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (pos < limit && bytes[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        boolean consumeNull() {
+            return consumeLiteral(NULL);
+        }
+
+        private boolean consumeLiteral(byte[] literal) {
+            skipWhitespace();
+            if (limit - pos < literal.length) {
+                return false;
+            }
+            for (int i = 0; i < literal.length; i++) {
+                if (bytes[pos + i] != literal[i]) {
+                    return false;
+                }
+            }
+            pos += literal.length;
+            return true;
+        }
+
+        int readInt() {
+            skipWhitespace();
+            int start = pos;
+            boolean negative = pos < limit && bytes[pos] == '-';
+            if (negative) {
+                pos++;
+            }
+            long value = 0;
+            while (pos < limit && bytes[pos] >= '0' && bytes[pos] <= '9') {
+                value = value * 10 + (bytes[pos++] - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw error("Integer overflow");
+                }
+            }
+            if (pos == start + (negative ? 1 : 0)) {
+                throw error("Expected an integer");
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw error("Integer overflow");
+            }
+            return (int) value;
+        }
+
+        @Nullable
+        Object readValue() {
+            skipWhitespace();
+            if (pos == limit) {
+                throw error("Unexpected end of input");
+            }
+            switch (bytes[pos]) {
+                case '"':
+                    return readString();
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                default:
+                    if (consumeLiteral(NULL)) {
+                        return null;
+                    } else if (consumeLiteral(TRUE)) {
+                        return Boolean.TRUE;
+                    } else if (consumeLiteral(FALSE)) {
+                        return Boolean.FALSE;
+                    }
+                    return readNumber();
+            }
+        }
+
+        Map<String, Object> readObject() {
+            expect('{');
+            enter();
+            Map<String, Object> object = new LinkedHashMap<>();
+            if (!consume('}')) {
+                do {
+                    String name = readString();
+                    expect(':');
+                    object.put(name, readValue());
+                } while (consume(','));
+                expect('}');
+            }
+            depth--;
+            return object;
+        }
+
+        List<Object> readArray() {
+            expect('[');
+            enter();
+            List<Object> array = new ArrayList<>();
+            if (!consume(']')) {
+                do {
+                    array.add(readValue());
+                } while (consume(','));
+                expect(']');
+            }
+            depth--;
+            return array;
+        }
+
+        private void enter() {
+            if (++depth > MAX_DEPTH) {
+                throw error("Too deeply nested");
+            }
+        }
+
+        Double readNumber() {
+            int start = pos;
+            while (pos < limit) {
+                byte b = bytes[pos];
+                if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (pos == start) {
+                throw error("Unexpected character '" + (char) bytes[pos] + "'");
+            }
+            try {
+                return Double.valueOf(new String(bytes, start, pos - start, UTF_8));
+            } catch (NumberFormatException e) {
+                throw error("Malformed number");
+            }
+        }
+
+        String readString() {
+            expect('"');
+            int start = pos;
+            // Strings without escapes are decoded from the bytes directly
+            while (pos < limit && bytes[pos] != '"' && bytes[pos] != '\\') {
+                pos++;
+            }
+            if (pos == limit) {
+                throw error("Unterminated string");
+            }
+            if (bytes[pos] == '"') {
+                return new String(bytes, start, pos++ - start, UTF_8);
+            }
+            StringBuilder s = new StringBuilder(pos - start + 16).append(new String(bytes, start, pos - start, UTF_8));
+            while (true) {
+                if (pos == limit) {
+                    throw error("Unterminated string");
+                }
+                byte b = bytes[pos];
+                if (b == '"') {
+                    pos++;
+                    return s.toString();
+                } else if (b == '\\') {
+                    pos++;
+                    s.append(readEscape());
+                } else {
+                    int runStart = pos;
+                    while (pos < limit && bytes[pos] != '"' && bytes[pos] != '\\') {
+                        pos++;
+                    }
+                    s.append(new String(bytes, runStart, pos - runStart, UTF_8));
+                }
+            }
+        }
+
+        private char readEscape() {
+            if (pos == limit) {
+                throw error("Unterminated escape");
+            }
+            byte b = bytes[pos++];
+            switch (b) {
+                case '"':
+                case '\\':
+                case '/':
+                    return (char) b;
+                case 'b':
+                    return '\b';
+                case 'f':
+                    return '\f';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 't':
+                    return '\t';
+                case 'u':
+                    if (limit - pos < 4) {
+                        throw error("Unterminated escape");
+                    }
+                    int c = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(bytes[pos++], 16);
+                        if (digit < 0) {
+                            throw error("Malformed unicode escape");
+                        }
+                        c = (c << 4) | digit;
+                    }
+                    return (char) c;
+                default:
+                    throw error("Invalid escape '\\" + (char) b + "'");
+            }
+        }
+    }
+}
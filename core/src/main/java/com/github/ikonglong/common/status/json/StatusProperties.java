@@ -0,0 +1,13 @@
+package com.github.ikonglong.common.status.json;
+
+public class StatusProperties {
+
+    public static final String PROP_CODE = "code";
+    public static final String PROP_STATUS = "status";
+    public static final String PROP_MESSAGE = "message";
+    public static final String PROP_CASE_CODE = "caseCode";
+    // The property of the case code object written by 1.x which holds the case identifier
+    public static final String PROP_CASE_CODE_STRING_FORM = "stringForm";
+    public static final String PROP_CASE = "theCase";
+    public static final String PROP_DETAILS = "details";
+}
@@ -0,0 +1,86 @@
+package com.github.ikonglong.common.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.Case.Default;
+import com.github.ikonglong.common.status.Status.Code;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class CaseRegistryTest {
+
+  @Test
+  public void firstRegistrationWins() {
+    CaseRegistry registry = new CaseRegistry();
+    Case first = new Default("quota_exceeded", Code.RESOURCE_EXHAUSTED);
+    Case second = new Default("quota_exceeded", Code.RESOURCE_EXHAUSTED);
+
+    assertThat(registry.register(first)).isSameAs(first);
+    assertThat(registry.register(second)).isSameAs(first);
+    assertThat(registry.size()).isEqualTo(1);
+    assertThat(registry.lookup("quota_exceeded")).isSameAs(first);
+    assertThat(registry.lookup("quota_exceeded", Code.RESOURCE_EXHAUSTED)).isSameAs(first);
+    assertThat(registry.lookup("quota_exceeded", Code.FAILED_PRECONDITION)).isNull();
+    assertThat(registry.lookup("unknown")).isNull();
+    assertThat(registry.casesOf(Code.RESOURCE_EXHAUSTED)).containsExactly(first);
+    assertThat(registry.casesOf(Code.FAILED_PRECONDITION)).isEmpty();
+  }
+
+  @Test
+  public void keepsFirstCaseOnConflict() {
+    CaseRegistry registry = new CaseRegistry();
+    Case first = registry.register(new Default("quota_exceeded", Code.RESOURCE_EXHAUSTED));
+    Case other = new Default("quota_exceeded", Code.FAILED_PRECONDITION);
+
+    assertThat(registry.register(other)).isSameAs(first);
+    assertThat(registry.lookup("quota_exceeded")).isSameAs(first);
+    assertThat(registry.resolve("quota_exceeded", Code.FAILED_PRECONDITION)).isNotSameAs(first);
+    assertThat(registry.casesOf(Code.FAILED_PRECONDITION)).isEmpty();
+  }
+
+  @Test
+  public void registerAllReportsConflicts() {
+    CaseRegistry registry = new CaseRegistry();
+    WordCodedCase.Table orders =
+        WordCodedCase.Table.newBuilder().add("ORDER_NOT_FOUND", Code.NOT_FOUND).build();
+    // Another library may take the same identifier for another case, which doesn't fail building
+    WordCodedCase.Table payments =
+        WordCodedCase.Table.newBuilder()
+            .add("ORDER_NOT_FOUND", Code.FAILED_PRECONDITION)
+            .add("PAYMENT_DECLINED", Code.FAILED_PRECONDITION)
+            .build();
+
+    assertThat(registry.registerAll(orders.cases())).isEmpty();
+    assertThat(registry.registerAll(orders.cases())).isEmpty();
+    assertThat(registry.registerAll(payments.cases()))
+        .isEqualTo(Collections.singletonList(payments.lookup("ORDER_NOT_FOUND")));
+    assertThat(registry.lookup("ORDER_NOT_FOUND")).isSameAs(orders.lookup("ORDER_NOT_FOUND"));
+    assertThat(registry.lookup("PAYMENT_DECLINED")).isSameAs(payments.lookup("PAYMENT_DECLINED"));
+  }
+
+  @Test
+  public void resolveFallsBackToDefaultCase() {
+    CaseRegistry registry = new CaseRegistry();
+    Case registered = registry.register(new Default("quota_exceeded", Code.RESOURCE_EXHAUSTED));
+
+    assertThat(registry.resolve("quota_exceeded", Code.RESOURCE_EXHAUSTED)).isSameAs(registered);
+    Case resolved = registry.resolve("quota_exceeded", Code.INTERNAL);
+    assertThat(resolved).isNotSameAs(registered);
+    assertThat(resolved.identifier()).isEqualTo("quota_exceeded");
+    assertThat(resolved.statusCode()).isEqualTo(Code.INTERNAL);
+  }
+
+  @Test
+  public void indexesDigitCodedCases() {
+    CaseRegistry registry = new CaseRegistry();
+    Case theCase = new FactoryForComplexSystem(7, 3).newNotFound(261);
+    assertThat(registry.lookup("7_3_261")).isNull();
+
+    assertThat(registry.register(theCase)).isSameAs(theCase);
+    assertThat(registry.lookup("7_3_261", Code.NOT_FOUND)).isSameAs(theCase);
+    assertThat(registry.casesOfApp(7)).containsExactly((DigitCodedCase) theCase);
+    assertThat(registry.casesOfModule(3)).containsExactly((DigitCodedCase) theCase);
+    assertThat(registry.casesOf(Code.NOT_FOUND)).containsExactly(theCase);
+  }
+}
@@ -0,0 +1,109 @@
+package com.github.ikonglong.common.status;
+
+import static com.github.ikonglong.common.status.DigitCodedCase.INVALID_IDENTIFIER;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForMonolithicApp;
+import com.github.ikonglong.common.status.DigitCodedCase.CodingStrategy;
+import com.github.ikonglong.common.status.Status.Code;
+import org.junit.jupiter.api.Test;
+
+public class DigitCodedCaseTest {
+
+  private final FactoryForComplexSystem caseFactory = new FactoryForComplexSystem(9, 2);
+  private final CodingStrategy strategy = caseFactory.caseFactory.codingStrategy();
+
+  @Test
+  public void parseIdentifierRestoresComponents() {
+    DigitCodedCase theCase = (DigitCodedCase) caseFactory.newNotFound(261);
+
+    long packed = strategy.parseIdentifier(theCase.identifier());
+    assertThat(packed).isNotNegative();
+    assertThat(DigitCodedCase.appCodeOf(packed)).isEqualTo(9);
+    assertThat(DigitCodedCase.moduleCodeOf(packed)).isEqualTo(2);
+    assertThat(DigitCodedCase.conditionCodeOf(packed)).isEqualTo(261);
+    assertThat(DigitCodedCase.statusCodeOf(packed)).isEqualTo(Code.NOT_FOUND);
+
+    byte[] bytes = ("[" + theCase.identifier() + "]").getBytes(US_ASCII);
+    assertThat(strategy.parseIdentifier(bytes, 1, bytes.length - 2)).isEqualTo(packed);
+  }
+
+  @Test
+  public void parseIdentifierResolvesEveryStatusCode() {
+    for (Code code : Code.values()) {
+      int conditionCode = strategy.statusCodeMapper().conditionCodeSegmentFor(code).end();
+      DigitCodedCase theCase = caseFactory.caseFactory.create(code, conditionCode);
+      assertThat(DigitCodedCase.statusCodeOf(strategy.parseIdentifier(theCase.identifier())))
+          .isEqualTo(code);
+    }
+  }
+
+  @Test
+  public void parseIdentifierRejectsInvalidIdentifiers() {
+    assertThat(strategy.parseIdentifier("9_2_05")).isEqualTo(INVALID_IDENTIFIER);
+    assertThat(strategy.parseIdentifier("9_2_0520")).isEqualTo(INVALID_IDENTIFIER);
+    assertThat(strategy.parseIdentifier("9-2_052")).isEqualTo(INVALID_IDENTIFIER);
+    assertThat(strategy.parseIdentifier("9_x_052")).isEqualTo(INVALID_IDENTIFIER);
+    // Not in any condition code segment of the mapper
+    assertThat(strategy.parseIdentifier("9_2_999")).isEqualTo(INVALID_IDENTIFIER);
+
+    CodingStrategy monolithic = new FactoryForMonolithicApp().caseFactory.codingStrategy();
+    assertThat(DigitCodedCase.conditionCodeOf(monolithic.parseIdentifier("052"))).isEqualTo(52);
+    assertThat(monolithic.parseIdentifier("9_2_052")).isEqualTo(INVALID_IDENTIFIER);
+  }
+
+  @Test
+  public void packedLongRoundTrip() {
+    DigitCodedCase theCase = (DigitCodedCase) caseFactory.newFailedPrecondition(52);
+    Case registered = CaseRegistry.global().register(theCase);
+
+    long packed = theCase.toPackedLong();
+    assertThat(packed).isEqualTo(strategy.parseIdentifier("9_2_052"));
+    DigitCodedCase restored = DigitCodedCase.fromPackedLong(packed, strategy);
+    assertThat(restored).isSameAs(registered).isEqualTo(theCase);
+    assertThat(restored.identifier()).isEqualTo("9_2_052");
+    assertThat(restored.statusCode()).isEqualTo(Code.FAILED_PRECONDITION);
+  }
+
+  @Test
+  public void fromPackedLongCreatesUnregisteredCases() {
+    long packed = strategy.parseIdentifier("9_2_099");
+    assertThat(CaseRegistry.global().lookup("9_2_099")).isNull();
+
+    DigitCodedCase restored = DigitCodedCase.fromPackedLong(packed, strategy);
+    assertThat(restored.identifier()).isEqualTo("9_2_099");
+    assertThat(restored.toPackedLong()).isEqualTo(packed);
+    assertThat(CaseRegistry.global().lookup("9_2_099")).isNull();
+  }
+
+  @Test
+  public void fromPackedLongRejectsForeignLongs() {
+    long packed = strategy.parseIdentifier("9_2_052");
+    CodingStrategy monolithic = new FactoryForMonolithicApp().caseFactory.codingStrategy();
+
+    assertThatThrownBy(() -> DigitCodedCase.fromPackedLong(packed, monolithic))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DigitCodedCase.fromPackedLong(-1L, strategy))
+        .isInstanceOf(IllegalArgumentException.class);
+    // Condition code 52 is not in the segment of NOT_FOUND
+    long wrongStatus = packed & ~(31L << 58) | ((long) Code.NOT_FOUND.value() << 58);
+    assertThatThrownBy(() -> DigitCodedCase.fromPackedLong(wrongStatus, strategy))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void factoryReturnsCachedCases() {
+    Case theCase = caseFactory.newAborted(360);
+
+    assertThat(caseFactory.newAborted(360)).isSameAs(theCase);
+    assertThat(caseFactory.newAbortedWithOffset(9)).isSameAs(theCase);
+    assertThat(caseFactory.caseFactory.create(Code.ABORTED, 360)).isSameAs(theCase);
+    // Creating a case doesn't register it
+    assertThat(CaseRegistry.global().lookup("9_2_360")).isNull();
+    assertThatThrownBy(() -> caseFactory.caseFactory.create(Code.NOT_FOUND, 360))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,39 @@
+package com.github.ikonglong.common.status;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ikonglong.common.status.Status.Code;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+public class EncodedStringTest {
+
+  @Test
+  public void encodesOnce() {
+    EncodedString encoded = EncodedString.of("a\"b\\c<d>\u0001é");
+    assertThat(encoded.quotedJson()).isEqualTo("\"a\\\"b\\\\c\\u003cd\\u003e\\u0001é\"");
+    assertThat(encoded.utf8Length()).isEqualTo(encoded.value().getBytes(UTF_8).length);
+
+    ByteBuffer utf8 = encoded.utf8();
+    assertThat(utf8.isReadOnly()).isTrue();
+    byte[] bytes = new byte[utf8.remaining()];
+    utf8.get(bytes);
+    assertThat(new String(bytes, UTF_8)).isEqualTo(encoded.value());
+
+    byte[] json = new byte[encoded.quotedJsonUtf8Length() + 1];
+    assertThat(encoded.copyQuotedJsonUtf8To(json, 1)).isEqualTo(json.length - 1);
+    assertThat(new String(json, 1, json.length - 1, UTF_8)).isEqualTo(encoded.quotedJson());
+  }
+
+  @Test
+  public void casesCacheEncodedIdentifiers() {
+    Case theCase = new BasicDigitCodedCaseFactory.FactoryForComplexSystem(9, 2).newInvalidArgument(1);
+    assertThat(theCase.encodedIdentifier().value()).isEqualTo(theCase.identifier());
+    assertThat(theCase.encodedIdentifier()).isSameAs(theCase.encodedIdentifier());
+
+    Case defaultCase = new Case.Default("file_size_limit_exceeded", Code.INVALID_ARGUMENT);
+    assertThat(defaultCase.encodedIdentifier()).isSameAs(defaultCase.encodedIdentifier());
+    assertThat(defaultCase.encodedIdentifier().quotedJson()).isEqualTo("\"file_size_limit_exceeded\"");
+  }
+}
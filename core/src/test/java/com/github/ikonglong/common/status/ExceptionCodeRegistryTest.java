@@ -0,0 +1,50 @@
+package com.github.ikonglong.common.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.Status.Code;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+public class ExceptionCodeRegistryTest {
+
+  private final ExceptionCodeRegistry registry =
+      ExceptionCodeRegistry.newBuilder()
+          .map(IllegalArgumentException.class, Code.INVALID_ARGUMENT)
+          .map(IOException.class, Code.UNAVAILABLE)
+          .map(FileNotFoundException.class, Code.NOT_FOUND)
+          .map(TimeoutException.class, Code.DEADLINE_EXCEEDED)
+          .build();
+
+  @Test
+  public void resolvesNearestMappedClass() {
+    assertThat(registry.codeFor(IllegalArgumentException.class)).isEqualTo(Code.INVALID_ARGUMENT);
+    assertThat(registry.codeFor(NumberFormatException.class)).isEqualTo(Code.INVALID_ARGUMENT);
+    assertThat(registry.codeFor(FileNotFoundException.class)).isEqualTo(Code.NOT_FOUND);
+    assertThat(registry.codeFor(java.net.ConnectException.class)).isEqualTo(Code.UNAVAILABLE);
+    assertThat(registry.codeFor(IllegalStateException.class)).isNull();
+    assertThat(registry.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void statusForReturnsCanonicalStatus() {
+    assertThat(registry.statusFor(new TimeoutException())).isSameAs(Status.DEADLINE_EXCEEDED);
+    assertThat(registry.statusFor(new NumberFormatException())).isSameAs(Status.INVALID_ARGUMENT);
+    assertThat(registry.statusFor(new RuntimeException())).isNull();
+    assertThat(ExceptionCodeRegistry.EMPTY.statusFor(new TimeoutException())).isNull();
+  }
+
+  @Test
+  public void rejectsDuplicateClass() {
+    assertThatThrownBy(
+            () ->
+                ExceptionCodeRegistry.newBuilder()
+                    .map(IOException.class, Code.UNAVAILABLE)
+                    .map(IOException.class, Code.INTERNAL))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("java.io.IOException");
+  }
+}
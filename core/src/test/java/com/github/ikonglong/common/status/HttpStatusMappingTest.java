@@ -0,0 +1,59 @@
+package com.github.ikonglong.common.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.Status.Code;
+import org.junit.jupiter.api.Test;
+
+public class HttpStatusMappingTest {
+
+  HttpStatusMapping legacyClients =
+      HttpStatusMapping.DEFAULT
+          .toBuilder("legacy-clients")
+          .map(Code.DEADLINE_EXCEEDED, HttpStatus.REQUEST_TIMEOUT)
+          .map(Code.CANCELLED, HttpStatus.REQUEST_TIMEOUT)
+          .build();
+
+  @Test
+  public void defaultMapping() {
+    assertThat(Code.OK.toHttpStatus()).isEqualTo(HttpStatus.OK);
+    assertThat(Code.FAILED_PRECONDITION.toHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(Code.CANCELLED.toHttpStatus()).isEqualTo(HttpStatus.CLIENT_CLOSED_REQUEST);
+    assertThat(Code.DEADLINE_EXCEEDED.toHttpStatus()).isEqualTo(HttpStatus.TIMEOUT);
+    assertThat(HttpStatusMapping.DEFAULT.toHttpStatus(Status.NOT_FOUND))
+        .isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  public void derivedMapping() {
+    assertThat(Code.DEADLINE_EXCEEDED.toHttpStatus(legacyClients))
+        .isEqualTo(HttpStatus.REQUEST_TIMEOUT);
+    assertThat(Code.CANCELLED.toHttpStatus(legacyClients)).isEqualTo(HttpStatus.REQUEST_TIMEOUT);
+    assertThat(Code.NOT_FOUND.toHttpStatus(legacyClients)).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(legacyClients.name()).isEqualTo("legacy-clients");
+    // The default mapping is left unchanged
+    assertThat(Code.CANCELLED.toHttpStatus()).isEqualTo(HttpStatus.CLIENT_CLOSED_REQUEST);
+  }
+
+  @Test
+  public void mappingSelectedPerThread() throws InterruptedException {
+    assertThat(HttpStatusMapping.current()).isSameAs(HttpStatusMapping.DEFAULT);
+    try (HttpStatusMapping.Scope ignored = legacyClients.makeCurrent()) {
+      assertThat(HttpStatusMapping.current()).isSameAs(legacyClients);
+
+      HttpStatusMapping[] inOtherThread = new HttpStatusMapping[1];
+      Thread thread = new Thread(() -> inOtherThread[0] = HttpStatusMapping.current());
+      thread.start();
+      thread.join();
+      assertThat(inOtherThread[0]).isSameAs(HttpStatusMapping.DEFAULT);
+    }
+    assertThat(HttpStatusMapping.current()).isSameAs(HttpStatusMapping.DEFAULT);
+  }
+
+  @Test
+  public void allCodesMustBeMapped() {
+    assertThatThrownBy(() -> HttpStatusMapping.newBuilder("x").map(Code.OK, HttpStatus.OK).build())
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.ikonglong.common.status;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ikonglong.common.status.guava.Strings;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+public class MessageTemplateTest {
+
+  private static final String[] TEMPLATES = {
+    "", "no placeholder", "%s", "item[=%s] of %s", "%s%s%%s", "trailing %", null
+  };
+  private static final Object[][] ARGS = {
+    {}, {"a"}, {1, 2L}, {null, 'c', true}, {"x", "y", "z", "w"}, {"é中😀"}, null
+  };
+
+  @Test
+  public void rendersAsLenientFormat() throws IOException {
+    for (String template : TEMPLATES) {
+      MessageTemplate compiled = MessageTemplate.compile(template);
+      for (Object[] args : ARGS) {
+        String expected = Strings.lenientFormat(template, args == null ? null : args.clone());
+
+        assertThat(compiled.format(args)).isEqualTo(expected);
+        assertThat(compiled.appendTo(new StringBuilder("> "), args).toString())
+            .isEqualTo("> " + expected);
+        assertThat(compiled.appendTo(new StringWriter(), args).toString()).isEqualTo(expected);
+
+        ByteBuffer buffer = compiled.writeUtf8(ByteBuffer.allocate(256), args);
+        assertThat(new String(buffer.array(), 0, buffer.position(), UTF_8)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void compilesPlaceholders() {
+    MessageTemplate template = MessageTemplate.compile("Item %s is out of stock at %s");
+    assertThat(template.placeholderCount()).isEqualTo(2);
+    assertThat(template.template()).isEqualTo("Item %s is out of stock at %s");
+    assertThat(MessageTemplate.compile(null).template()).isEqualTo("null");
+    assertThat(template).isEqualTo(MessageTemplate.compile("Item %s is out of stock at %s"));
+  }
+
+  @Test
+  public void statusRendersCompiledTemplateLazily() {
+    MessageTemplate template = MessageTemplate.compile("Item %s is out of stock");
+    Case theCase = new Case.Default("out_of_stock", Status.Code.FAILED_PRECONDITION);
+
+    Status status = Status.fromCase(theCase, template, "sku-1");
+    assertThat(status.theCase()).isSameAs(theCase);
+    assertThat(status.message()).isEqualTo("Item sku-1 is out of stock");
+    assertThat(Status.NOT_FOUND.withMessage(template, "sku-2").message())
+        .isEqualTo("Item sku-2 is out of stock");
+    assertThat(Status.NOT_FOUND.withMessage(template).message())
+        .isEqualTo("Item %s is out of stock");
+  }
+}
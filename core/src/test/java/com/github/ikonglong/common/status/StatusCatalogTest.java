@@ -0,0 +1,104 @@
+package com.github.ikonglong.common.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory.FactoryForComplexSystem;
+import com.github.ikonglong.common.status.Case.Default;
+import com.github.ikonglong.common.status.Status.Code;
+import org.junit.jupiter.api.Test;
+
+public class StatusCatalogTest {
+
+  FactoryForComplexSystem caseFactory = new FactoryForComplexSystem(1, 2);
+
+  Case purchaseLimitExceeded = caseFactory.newFailedPrecondition(52);
+  Case itemNotFound = caseFactory.newNotFound(252);
+  Case wordCoded = new Default("file_size_limit_exceeded", Code.INVALID_ARGUMENT);
+
+  StatusCatalog catalog =
+      StatusCatalog.newBuilder()
+          .add(purchaseLimitExceeded, "Purchase limit exceeded")
+          .add(itemNotFound)
+          .add(wordCoded, "File size exceeded the limit")
+          .build();
+
+  @Test
+  public void lookupsReturnCanonicalStatus() {
+    Status status = catalog.statusFor(purchaseLimitExceeded);
+    assertThat(status.code()).isEqualTo(Code.FAILED_PRECONDITION);
+    assertThat(status.theCase()).isSameAs(purchaseLimitExceeded);
+    assertThat(status.message()).isEqualTo("Purchase limit exceeded");
+
+    assertThat(catalog.statusFor(purchaseLimitExceeded)).isSameAs(status);
+    assertThat(catalog.statusFor("1_2_052")).isSameAs(status);
+    assertThat(catalog.statusForConditionCode(1, 2, 52)).isSameAs(status);
+
+    Status notFound = catalog.statusForConditionCode(1, 2, 252);
+    assertThat(notFound.code()).isEqualTo(Code.NOT_FOUND);
+    assertThat(notFound.message()).isNull();
+    assertThat(catalog.statusFor(wordCoded).message()).isEqualTo("File size exceeded the limit");
+    assertThat(catalog.size()).isEqualTo(3);
+
+    StatusRuntimeException e = catalog.runtimeExceptionFor(purchaseLimitExceeded);
+    assertThat(e.getStatus()).isSameAs(status);
+    assertThat(e.getStackTrace()).isEmpty();
+    assertThat(catalog.runtimeExceptionFor(purchaseLimitExceeded)).isSameAs(e);
+    assertThat(catalog.exceptionFor(itemNotFound)).isSameAs(catalog.exceptionFor(itemNotFound));
+    assertThat(catalog.runtimeExceptionFor(caseFactory.newFailedPrecondition(53))).isNull();
+  }
+
+  @Test
+  public void lookupsOfUnregisteredCases() {
+    assertThat(catalog.statusFor(caseFactory.newFailedPrecondition(53))).isNull();
+    assertThat(catalog.statusFor(new Default("1_2_052", Code.INTERNAL))).isNull();
+    assertThat(catalog.statusFor("unknown")).isNull();
+    assertThat(catalog.statusForConditionCode(1, 2, -1)).isNull();
+    assertThat(catalog.statusForConditionCode(1, 2, 53)).isNull();
+    assertThat(catalog.statusForConditionCode(1, 2, 1 << 20)).isNull();
+    assertThat(catalog.statusForConditionCode(1, 3, 52)).isNull();
+  }
+
+  @Test
+  public void sparseConditionCodes() {
+    DigitCodedCase.Factory factory =
+        new DigitCodedCase.Factory.Builder()
+            .codingStrategy(
+                DigitCodedCase.CodingStrategy.newBuilder()
+                    .numDigitsOfAppCode(0)
+                    .numDigitsOfModuleCode(0)
+                    .numDigitsOfConditionCode(6)
+                    .statusCodeMapper(new StatusCodeToNumRangeMapper())
+                    .build())
+            .build();
+    Case small = factory.create(Code.INVALID_ARGUMENT, 1);
+    StatusCatalog sparse =
+        StatusCatalog.newBuilder()
+            .add(small)
+            .add(new DigitCodedCase(0, 0, 900_000, "900000", Code.INTERNAL))
+            .build();
+    assertThat(sparse.statusForConditionCode(0, 0, 1).theCase()).isSameAs(small);
+    assertThat(sparse.statusForConditionCode(0, 0, 900_000).code()).isEqualTo(Code.INTERNAL);
+    assertThat(sparse.statusForConditionCode(0, 0, 2)).isNull();
+  }
+
+  @Test
+  public void rejectsDuplicates() {
+    assertThatThrownBy(
+            () ->
+                StatusCatalog.newBuilder()
+                    .add(purchaseLimitExceeded)
+                    .add(new Default("1_2_052", Code.FAILED_PRECONDITION)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void acceptsSameConditionCodeInDifferentModules() {
+    Case ofOtherModule = new FactoryForComplexSystem(1, 3).newFailedPrecondition(52);
+    StatusCatalog catalog =
+        StatusCatalog.newBuilder().add(purchaseLimitExceeded).add(ofOtherModule).build();
+    assertThat(catalog.size()).isEqualTo(2);
+    assertThat(catalog.statusForConditionCode(1, 2, 52).theCase()).isSameAs(purchaseLimitExceeded);
+    assertThat(catalog.statusForConditionCode(1, 3, 52).theCase()).isSameAs(ofOtherModule);
+  }
+}
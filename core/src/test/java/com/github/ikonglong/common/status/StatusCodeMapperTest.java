@@ -0,0 +1,149 @@
+package com.github.ikonglong.common.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.DigitCodedCase.NumRange;
+import com.github.ikonglong.common.status.Status.Code;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class StatusCodeMapperTest {
+
+  @Test
+  public void statusCodeForDenseSegments() {
+    StatusCodeMapper mapper = new StatusCodeToNumRangeMapper();
+    assertThat(mapper.statusCodeFor(0)).isEqualTo(Code.OK);
+    assertThat(mapper.statusCodeFor(50)).isEqualTo(Code.INVALID_ARGUMENT);
+    assertThat(mapper.statusCodeFor(51)).isEqualTo(Code.FAILED_PRECONDITION);
+    assertThat(mapper.statusCodeFor(800)).isEqualTo(Code.DEADLINE_EXCEEDED);
+    assertThat(mapper.statusCodeFor(801)).isNull();
+    assertThat(mapper.statusCodeFor(-1)).isNull();
+  }
+
+  @Test
+  public void statusCodeForSparseSegments() {
+    StatusCodeMapper mapper =
+        new StatusCodeToNumRangeMapper() {
+          @Override
+          protected NumRange deadlineExceeded() {
+            return NumRange.of(1_000_000, 1_999_999);
+          }
+        };
+    assertThat(mapper.statusCodeFor(1_500_000)).isEqualTo(Code.DEADLINE_EXCEEDED);
+    assertThat(mapper.statusCodeFor(2_000_000)).isNull();
+    assertThat(mapper.statusCodeFor(999_999)).isNull();
+    assertThat(mapper.statusCodeFor(751)).isNull();
+    assertThat(mapper.statusCodeFor(701)).isEqualTo(Code.UNAVAILABLE);
+    assertThat(mapper.statusCodeFor(0)).isEqualTo(Code.OK);
+  }
+
+  @Test
+  public void rejectsOverlappingSegments() {
+    assertThatThrownBy(
+            () ->
+                new StatusCodeToNumRangeMapper() {
+                  @Override
+                  protected NumRange deadlineExceeded() {
+                    return NumRange.of(700, 760);
+                  }
+                })
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("overlap");
+  }
+
+  @Test
+  public void multiSegmentMapper() {
+    MultiSegmentStatusCodeMapper mapper =
+        MultiSegmentStatusCodeMapper.newBuilder()
+            .add(Code.OK, NumRange.of(0, 0))
+            .add(Code.INVALID_ARGUMENT, NumRange.of(801, 900))
+            .add(Code.INVALID_ARGUMENT, NumRange.of(1, 50))
+            .add(Code.NOT_FOUND, NumRange.of(51, 100))
+            .add(Code.NOT_FOUND, NumRange.of(2_000_000, 2_000_099))
+            .build();
+    assertThat(mapper.conditionCodeSegmentFor(Code.INVALID_ARGUMENT)).isEqualTo(NumRange.of(1, 50));
+    assertThat(mapper.conditionCodeSegmentsFor(Code.INVALID_ARGUMENT))
+        .containsExactly(NumRange.of(1, 50), NumRange.of(801, 900));
+    assertThat(mapper.conditionCodeSegmentsFor(Code.ABORTED)).isEmpty();
+    assertThat(mapper.hasMappingFor(Code.ABORTED)).isFalse();
+    assertThat(mapper.conditionCodeSegments()).hasSize(5);
+
+    assertThat(mapper.includes(Code.INVALID_ARGUMENT, 850)).isTrue();
+    assertThat(mapper.includes(Code.INVALID_ARGUMENT, 75)).isFalse();
+    assertThat(mapper.includes(Code.NOT_FOUND, 2_000_050)).isTrue();
+    assertThat(mapper.statusCodeFor(2_000_100)).isNull();
+    assertThat(mapper.statusCodeFor(500)).isNull();
+
+    assertThat(mapper.segmentMappings().get(Code.NOT_FOUND))
+        .containsExactly(NumRange.of(51, 100), NumRange.of(2_000_000, 2_000_099));
+    assertThat(mapper.sortedInverseMappings().keySet())
+        .containsExactly(
+            NumRange.of(0, 0),
+            NumRange.of(1, 50),
+            NumRange.of(51, 100),
+            NumRange.of(801, 900),
+            NumRange.of(2_000_000, 2_000_099));
+    assertThat(mapper.inverseMappings())
+        .hasSize(5)
+        .containsEntry(NumRange.of(801, 900), Code.INVALID_ARGUMENT);
+    assertThatThrownBy(mapper::mappings).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void segmentsOfMultiSegmentMapperAreUnmodifiable() {
+    MultiSegmentStatusCodeMapper.Builder builder =
+        MultiSegmentStatusCodeMapper.newBuilder().add(Code.NOT_FOUND, NumRange.of(51, 100));
+    MultiSegmentStatusCodeMapper mapper = builder.build();
+    builder.add(Code.NOT_FOUND, NumRange.of(801, 900));
+
+    List<NumRange> segments = mapper.segmentMappings().get(Code.NOT_FOUND);
+    assertThat(segments).containsExactly(NumRange.of(51, 100));
+    assertThatThrownBy(() -> segments.add(NumRange.of(801, 900)))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThat(mapper.includes(Code.NOT_FOUND, 850)).isFalse();
+  }
+
+  @Test
+  public void mappingsOfSingleSegmentMapper() {
+    StatusCodeMapper mapper = new StatusCodeToNumRangeMapper();
+    assertThat(mapper.mappings()).hasSize(17).containsEntry(Code.NOT_FOUND, NumRange.of(251, 300));
+    assertThat(mapper.inverseMappings()).hasSize(17).containsEntry(NumRange.of(0, 0), Code.OK);
+    assertThat(mapper.segmentMappings().get(Code.OK)).containsExactly(NumRange.of(0, 0));
+  }
+
+  @Test
+  public void multiSegmentMapperRejectsOverlappingSegments() {
+    assertThatThrownBy(
+            () ->
+                MultiSegmentStatusCodeMapper.newBuilder()
+                    .add(Code.INVALID_ARGUMENT, NumRange.of(1, 50))
+                    .add(Code.NOT_FOUND, NumRange.of(40, 60))
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("overlap");
+  }
+
+  @Test
+  public void caseFactoryAcceptsConditionCodesOfAllSegments() {
+    DigitCodedCase.Factory factory =
+        new DigitCodedCase.Factory.Builder()
+            .codingStrategy(
+                DigitCodedCase.CodingStrategy.newBuilder()
+                    .numDigitsOfAppCode(2)
+                    .numDigitsOfModuleCode(2)
+                    .numDigitsOfConditionCode(3)
+                    .statusCodeMapper(
+                        MultiSegmentStatusCodeMapper.newBuilder()
+                            .add(Code.INVALID_ARGUMENT, NumRange.of(1, 50))
+                            .add(Code.INVALID_ARGUMENT, NumRange.of(801, 900))
+                            .build())
+                    .build())
+            .appCode(17)
+            .moduleCode(18)
+            .build();
+    assertThat(factory.create(Code.INVALID_ARGUMENT, 850).identifier()).isEqualTo("17_18_850");
+    assertThatThrownBy(() -> factory.create(Code.INVALID_ARGUMENT, 500))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,265 @@
+package com.github.ikonglong.common.status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.Case.Default;
+import com.github.ikonglong.common.status.Status.Code;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("unchecked")
+public class StatusTest {
+
+  @Test
+  public void messageIsFormattedOnFirstAccessOnly() {
+    AtomicInteger formatCount = new AtomicInteger();
+    Object arg =
+        new Object() {
+          @Override
+          public String toString() {
+            return "x" + formatCount.incrementAndGet();
+          }
+        };
+
+    Status status = Status.INVALID_ARGUMENT.withMessage("Param %s is invalid", arg);
+    assertThat(formatCount).hasValue(0);
+    assertThat(status.code()).isEqualTo(Code.INVALID_ARGUMENT);
+
+    assertThat(status.message()).isEqualTo("Param x1 is invalid");
+    assertThat(status.message()).isEqualTo("Param x1 is invalid");
+    assertThat(status.toString()).contains("message=Param x1 is invalid");
+    assertThat(formatCount).hasValue(1);
+  }
+
+  @Test
+  public void derivedStatusesShareFormattedMessage() {
+    AtomicInteger formatCount = new AtomicInteger();
+    Object arg =
+        new Object() {
+          @Override
+          public String toString() {
+            return String.valueOf(formatCount.incrementAndGet());
+          }
+        };
+    Case theCase = new Default("limit_exceeded", Code.FAILED_PRECONDITION);
+
+    Status status = Status.fromCase(theCase, "Limit %s exceeded", arg);
+    Status derived = status.withCase(new Default("other", Code.FAILED_PRECONDITION));
+    assertThat(status.message()).isEqualTo("Limit 1 exceeded");
+    assertThat(derived.message()).isEqualTo("Limit 1 exceeded");
+    assertThat(status.theCase()).isSameAs(theCase);
+    assertThat(formatCount).hasValue(1);
+  }
+
+  @Test
+  public void formatsLikeLenientFormat() {
+    assertThat(Status.INTERNAL.withMessage("a %s b", 1, 2).message()).isEqualTo("a 1 b [2]");
+    assertThat(Status.INTERNAL.withMessage("a %s b %s", (Object) null).message())
+        .isEqualTo("a null b %s");
+    assertThat(Status.INTERNAL.withMessage("no args", new Object[0]).message())
+        .isEqualTo("no args");
+    assertThat(Status.INTERNAL.withMessage("a %s", 1).augmentMessage("b").message())
+        .isEqualTo("a 1\nb");
+    assertThat(Status.INTERNAL.withMessage("a %s", 1).asRuntimeException())
+        .hasMessage("INTERNAL: a 1");
+  }
+
+  @Test
+  public void withCaseReplacesMessageOfSameCase() {
+    Case theCase = new Default("limit_exceeded", Code.FAILED_PRECONDITION);
+    Status status = Status.fromCase(theCase, "first %s", 1);
+    assertThat(status.withCase(theCase, "second %s", 2).message()).isEqualTo("second 2");
+  }
+
+  @Test
+  public void addDetailDerivesNewStatus() {
+    Status status = Status.OK.addDetail("reason 1");
+    assertThat(Status.OK.details()).isEmpty();
+    assertThat((List<Object>) status.details()).containsExactly("reason 1");
+
+    Status status2 = status.addDetail("reason 2").addDetails(Arrays.asList("reason 3", "reason 4"));
+    assertThat((List<Object>) status.details()).containsExactly("reason 1");
+    assertThat((List<Object>) status2.details()).containsExactly("reason 1", "reason 2", "reason 3", "reason 4");
+    assertThat(status2.toString()).contains("details=[reason 1, reason 2, reason 3, reason 4]");
+    assertThat(status2.addDetails(Collections.emptyList())).isSameAs(status2);
+    assertThatThrownBy(() -> status2.details().clear())
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void stacklessExceptions() {
+    StatusRuntimeException e = Status.NOT_FOUND.withMessage("x").asRuntimeException(false);
+    assertThat(e.getStackTrace()).isEmpty();
+    assertThat(e).hasMessage("NOT_FOUND: x");
+    e.addSuppressed(new RuntimeException());
+    assertThat(e.getSuppressed()).isEmpty();
+    assertThat(Status.NOT_FOUND.asException(false).getStackTrace()).isEmpty();
+    assertThat(Status.NOT_FOUND.asRuntimeException().getStackTrace()).isNotEmpty();
+
+    Case expected =
+        new Case() {
+          @Override
+          public String identifier() {
+            return "item_not_found";
+          }
+
+          @Override
+          public Code statusCode() {
+            return Code.NOT_FOUND;
+          }
+
+          @Override
+          public boolean captureStackTrace() {
+            return false;
+          }
+        };
+    assertThat(Status.fromCase(expected, "x").asRuntimeException().getStackTrace()).isEmpty();
+    assertThat(Status.fromCase(expected, "x").asException().getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void cachedExceptions() {
+    StatusRuntimeException e = Status.NOT_FOUND.asCachedRuntimeException();
+    assertThat(Status.NOT_FOUND.asCachedRuntimeException()).isSameAs(e);
+    assertThat(e.getStatus()).isSameAs(Status.NOT_FOUND);
+    assertThat(e.getStackTrace()).isEmpty();
+    assertThat(e).hasMessage("NOT_FOUND");
+    assertThatThrownBy(() -> e.initCause(new RuntimeException()))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(Status.NOT_FOUND.asCachedException()).isSameAs(Status.NOT_FOUND.asCachedException());
+
+    Status derived = Status.NOT_FOUND.withMessage("m");
+    assertThat(derived.asCachedRuntimeException()).isNotSameAs(derived.asCachedRuntimeException());
+    assertThat(derived.asCachedRuntimeException().getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void captureStackTraceByDefault() {
+    Status.setCaptureStackTraceByDefault(false);
+    try {
+      assertThat(Status.INTERNAL.asRuntimeException().getStackTrace()).isEmpty();
+      assertThat(Status.INTERNAL.asException().getStackTrace()).isEmpty();
+      assertThat(Status.INTERNAL.asRuntimeException(true).getStackTrace()).isNotEmpty();
+    } finally {
+      Status.setCaptureStackTraceByDefault(true);
+    }
+  }
+
+  @Test
+  public void fromHttpStatusCode() {
+    assertThat(Status.fromHttpStatusCode(200)).isSameAs(Status.OK);
+    assertThat(Status.fromHttpStatusCode(204).code()).isEqualTo(Code.OK);
+    assertThat(Status.fromHttpStatusCode(204).message()).isEqualTo("HTTP status code 204");
+    assertThat(Status.fromHttpStatusCode(404)).isSameAs(Status.NOT_FOUND);
+    assertThat(Status.fromHttpStatusCode(504)).isSameAs(Status.DEADLINE_EXCEEDED);
+
+    Status teapot = Status.fromHttpStatusCode(418);
+    assertThat(teapot.code()).isEqualTo(Code.FAILED_PRECONDITION);
+    assertThat(teapot.message()).isEqualTo("HTTP status code 418");
+    assertThat(Status.fromHttpStatusCode(418)).isSameAs(teapot);
+    assertThat(Status.fromHttpStatusCode(502).code()).isEqualTo(Code.INTERNAL);
+    assertThat(Status.fromHttpStatusCode(302).code()).isEqualTo(Code.UNKNOWN);
+    assertThat(Status.fromHttpStatusCode(302).message()).isEqualTo("HTTP status code 302");
+
+    assertThat(Status.fromHttpStatusCode(99).code()).isEqualTo(Code.UNKNOWN);
+    assertThat(Status.fromHttpStatusCode(600).message()).isEqualTo("Unknown HTTP status code 600");
+  }
+
+  @Test
+  public void fromThrowablePrefersCarriersToMappedExceptions() {
+    ExceptionCodeRegistry registry =
+        ExceptionCodeRegistry.newBuilder()
+            .map(IllegalArgumentException.class, Code.INVALID_ARGUMENT)
+            .map(CompletionException.class, Code.INTERNAL)
+            .build();
+    Status notFound = Status.NOT_FOUND.withMessage("no file");
+
+    Throwable carried = new IllegalStateException(new CarrierException(notFound));
+    assertThat(Status.fromThrowable(carried)).isSameAs(notFound);
+    assertThat(Status.fromThrowable(carried, registry)).isSameAs(notFound);
+
+    Throwable mapped = new RuntimeException(new NumberFormatException());
+    assertThat(Status.fromThrowable(mapped)).isSameAs(Status.UNKNOWN);
+    assertThat(Status.fromThrowable(mapped, registry)).isSameAs(Status.INVALID_ARGUMENT);
+
+    Throwable wrapped = new CompletionException(notFound.asRuntimeException());
+    assertThat(Status.fromThrowable(wrapped, registry)).isSameAs(notFound);
+    Throwable mappedTwice = new CompletionException(new IllegalArgumentException());
+    assertThat(Status.fromThrowable(mappedTwice, registry)).isSameAs(Status.INTERNAL);
+  }
+
+  @Test
+  public void fromThrowableStopsAtCyclicOrDeepChains() {
+    Exception a = new Exception("a");
+    Exception b = new Exception("b", a);
+    a.initCause(b);
+    assertThat(Status.fromThrowable(a)).isSameAs(Status.UNKNOWN);
+
+    Throwable deep = Status.NOT_FOUND.asRuntimeException();
+    for (int i = 0; i < 100; i++) {
+      deep = new RuntimeException(deep);
+    }
+    assertThat(Status.fromThrowable(deep)).isSameAs(Status.UNKNOWN);
+  }
+
+  @Test
+  public void appendToWritesToStringForm() throws Exception {
+    Case theCase = new Default("out_of_stock", Code.FAILED_PRECONDITION);
+    Status status =
+        Status.fromCase(theCase, "Item %s is out of stock", "sku-1")
+            .addDetail("retry later")
+            .addDetail(42);
+    String expected =
+        "Status{code=9, status=FAILED_PRECONDITION, message=Item sku-1 is out of stock, "
+            + "case=out_of_stock, details=[retry later, 42]}";
+
+    assertThat(status.appendTo(new StringBuilder()).toString()).isEqualTo(expected);
+    assertThat(status.appendTo(new java.io.StringWriter()).toString()).isEqualTo(expected);
+    assertThat(status.toString()).isEqualTo(expected);
+    assertThat(Status.UNAVAILABLE.toString())
+        .isEqualTo("Status{code=14, status=UNAVAILABLE, message=null, case=null, details=[]}");
+  }
+
+  @Test
+  public void codeMetadata() {
+    assertThat(Code.parse("not_found")).isEqualTo(Code.NOT_FOUND);
+    assertThat(Code.parse(new StringBuilder("Deadline_Exceeded"))).isEqualTo(Code.DEADLINE_EXCEEDED);
+    assertThatThrownBy(() -> Code.parse("NOT_FOUNDX"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("NOT_FOUNDX");
+    assertThat(new Default("c", "failed_precondition").statusCode())
+        .isEqualTo(Code.FAILED_PRECONDITION);
+
+    assertThat(Status.fromCodeValue(16)).isSameAs(Status.UNAUTHENTICATED);
+    assertThat(Status.fromCodeValue(17).code()).isEqualTo(Code.UNKNOWN);
+    assertThat(Code.ABORTED.retryAdvice()).isEqualTo(RetryAdvice.RETRY_AT_HIGHER_LEVEL);
+    assertThat(Status.UNAVAILABLE.retryAdvice()).isEqualTo(RetryAdvice.JUST_RETRY_FAILING_CALL);
+    assertThat(Code.NOT_FOUND.toHttpStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+
+    byte[] bytes = new byte[32];
+    int length = Code.DATA_LOSS.copyValueAscii(bytes, 1);
+    assertThat(new String(bytes, 1, length, StandardCharsets.US_ASCII)).isEqualTo("15");
+    length = Code.DATA_LOSS.copyNameAscii(bytes, 0);
+    assertThat(new String(bytes, 0, length, StandardCharsets.US_ASCII)).isEqualTo("DATA_LOSS");
+  }
+
+  private static class CarrierException extends Exception implements StatusCarrier {
+
+    private final Status status;
+
+    CarrierException(Status status) {
+      this.status = status;
+    }
+
+    @Override
+    public Status getStatus() {
+      return status;
+    }
+  }
+}
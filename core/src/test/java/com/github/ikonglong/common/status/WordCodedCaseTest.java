@@ -0,0 +1,58 @@
+package com.github.ikonglong.common.status;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.Status.Code;
+import org.junit.jupiter.api.Test;
+
+public class WordCodedCaseTest {
+
+  @Test
+  public void lookupByCharsAndBytes() {
+    WordCodedCase.Table.Builder builder = WordCodedCase.Table.newBuilder();
+    for (int i = 0; i < 1000; i++) {
+      builder.add("WORD_CASE_" + i, Code.values()[i % Code.values().length]);
+    }
+    WordCodedCase.Table table = builder.build();
+    assertThat(table.size()).isEqualTo(1000);
+    for (WordCodedCase theCase : table.cases()) {
+      String identifier = theCase.identifier();
+      assertThat(table.lookup(identifier)).isSameAs(theCase);
+      assertThat(table.lookup(new StringBuilder(identifier))).isSameAs(theCase);
+      byte[] bytes = ("\"" + identifier + "\"").getBytes(UTF_8);
+      assertThat(table.lookup(bytes, 1, bytes.length - 2)).isSameAs(theCase);
+      assertThat(table.lookup(identifier, theCase.statusCode())).isSameAs(theCase);
+    }
+    assertThat(table.lookup("WORD_CASE_1000")).isNull();
+    assertThat(table.lookup("WORD_CASE_")).isNull();
+    assertThat(table.lookup("")).isNull();
+    assertThat(table.lookup("WORD_CASE_ü")).isNull();
+    assertThat(table.lookup("WORD_CASE_1", Code.OK)).isNull();
+    // Building a table doesn't register its cases
+    assertThat(CaseRegistry.global().lookup("WORD_CASE_1")).isNull();
+  }
+
+  @Test
+  public void emptyTable() {
+    WordCodedCase.Table table = WordCodedCase.Table.newBuilder().build();
+    assertThat(table.lookup("ANY")).isNull();
+    assertThat(table.lookup(new byte[] {'A'}, 0, 1)).isNull();
+  }
+
+  @Test
+  public void rejectsInvalidAndDuplicateIdentifiers() {
+    assertThatThrownBy(() -> new WordCodedCase("", Code.INTERNAL))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new WordCodedCase("out of stock", Code.INTERNAL))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                WordCodedCase.Table.newBuilder()
+                    .add("OUT_OF_STOCK", Code.FAILED_PRECONDITION)
+                    .add("OUT_OF_STOCK", Code.INTERNAL))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Duplicate");
+  }
+}
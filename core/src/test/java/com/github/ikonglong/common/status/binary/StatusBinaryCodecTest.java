@@ -0,0 +1,103 @@
+package com.github.ikonglong.common.status.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class StatusBinaryCodecTest {
+
+  final BasicDigitCodedCaseFactory.FactoryForComplexSystem factory =
+      new BasicDigitCodedCaseFactory.FactoryForComplexSystem(6, 3);
+
+  @Test
+  public void encodesCasesInDictionaryAsIndexes() {
+    Case inDictionary = factory.newNotFound(252);
+    Case outOfDictionary = factory.newNotFound(253);
+    CaseRegistry registry = new CaseRegistry();
+    registry.register(outOfDictionary);
+    StatusBinaryCodec codec =
+        StatusBinaryCodec.newBuilder()
+            .caseDictionary(Arrays.asList(factory.newNotFound(251), inDictionary))
+            .caseRegistry(registry)
+            .build();
+
+    ByteBuffer encoded = codec.encode(Status.NOT_FOUND.withCase(inDictionary));
+    // version, code, case index + 2, no message, no details
+    assertThat(encoded.array()).containsExactly(1, 5, 3, 0, 0);
+    assertThat(codec.decode(encoded).theCase()).isSameAs(inDictionary);
+
+    Status status = Status.fromCase(outOfDictionary, "No order %s", 42);
+    encoded = codec.encode(status);
+    assertThat(encoded.remaining()).isEqualTo(codec.encodedLength(status));
+    Status decoded = codec.decode(encoded);
+    assertThat(decoded.theCase()).isSameAs(outOfDictionary);
+    assertThat(decoded.message()).isEqualTo("No order 42");
+    assertThat(encoded.hasRemaining()).isFalse();
+  }
+
+  @Test
+  public void writesStatusesOneAfterAnotherIntoBuffers() {
+    StatusBinaryCodec codec = StatusBinaryCodec.DEFAULT;
+    Status first =
+        Status.ABORTED
+            .withMessage("Größe 😀")
+            .addDetails(
+                Arrays.asList("d", null, true, Integer.MIN_VALUE, -1L, Long.MAX_VALUE, 1.5));
+    Status second = Status.OK.withCase(new Case.Default("done", Code.OK));
+    ByteBuffer buffer = ByteBuffer.allocateDirect(128);
+    codec.encodeTo(buffer, first);
+    codec.encodeTo(buffer, second).flip();
+
+    Status decoded = codec.decode(buffer);
+    assertThat(decoded.code()).isEqualTo(Code.ABORTED);
+    assertThat(decoded.message()).isEqualTo("Größe 😀");
+    assertThat(decoded.theCase()).isNull();
+    assertThat(decoded.details())
+        .isEqualTo(Arrays.asList("d", null, true, Integer.MIN_VALUE, -1L, Long.MAX_VALUE, 1.5));
+    decoded = codec.decode(buffer);
+    assertThat(decoded.message()).isNull();
+    assertThat(decoded.theCase().identifier()).isEqualTo("done");
+    assertThat(buffer.hasRemaining()).isFalse();
+  }
+
+  @Test
+  public void encodesDoublesBigEndianWhateverTheBufferOrder() {
+    Status status = Status.OK.addDetail(1.5);
+    ByteBuffer bigEndian = StatusBinaryCodec.DEFAULT.encode(status);
+    ByteBuffer littleEndian =
+        ByteBuffer.allocate(bigEndian.remaining()).order(ByteOrder.LITTLE_ENDIAN);
+    StatusBinaryCodec.DEFAULT.encodeTo(littleEndian, status).flip();
+    assertThat(littleEndian).isEqualTo(bigEndian);
+
+    // Version, code, no case, no message, 1 detail, the type of double and 1.5 in big-endian
+    assertThat(bigEndian.get(6)).isEqualTo((byte) 0x3f);
+    assertThat(bigEndian.get(7)).isEqualTo((byte) 0xf8);
+    assertThat(StatusBinaryCodec.DEFAULT.decode(littleEndian).details())
+        .isEqualTo(Collections.singletonList(1.5));
+  }
+
+  @Test
+  public void rejectsUnknownVersionsAndUnsupportedDetails() {
+    assertThatThrownBy(() -> StatusBinaryCodec.DEFAULT.decode(ByteBuffer.wrap(new byte[] {2, 0, 0})))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Unsupported version 2");
+    assertThatThrownBy(
+            () -> StatusBinaryCodec.DEFAULT.encode(Status.OK.addDetails(Collections.singleton('c'))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("use a custom DetailCodec");
+    Case theCase = factory.newAborted(351);
+    assertThatThrownBy(
+            () -> StatusBinaryCodec.newBuilder().caseDictionary(Arrays.asList(theCase, theCase)).build())
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
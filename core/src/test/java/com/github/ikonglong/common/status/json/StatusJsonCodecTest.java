@@ -0,0 +1,101 @@
+package com.github.ikonglong.common.status.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import com.google.common.base.Strings;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class StatusJsonCodecTest {
+
+  final StatusJsonCodec codec = StatusJsonCodec.DEFAULT;
+
+  @Test
+  public void encodesAndDecodesInOnePass() {
+    Case theCase = new BasicDigitCodedCaseFactory.FactoryForComplexSystem(4, 7).newNotFound(260);
+    CaseRegistry.global().register(theCase);
+    Status status =
+        Status.fromCase(theCase, "No order <%s>\n", 42)
+            .addDetails(Arrays.asList("é", 2, true, null, Collections.singletonMap("k", 'c')));
+    byte[] json = codec.encode(status);
+    assertThat(new String(json, UTF_8))
+        .isEqualTo(
+            "{\"code\":5,\"status\":\"NOT_FOUND\",\"message\":\"No order \\u003c42\\u003e\\n\","
+                + "\"details\":[\"é\",2,true,null,{\"k\":\"c\"}],\"theCase\":\"4_7_260\"}");
+    assertThat(codec.encodedLength(status)).isEqualTo(json.length);
+
+    Status decoded = codec.decode(json);
+    assertThat(decoded.code()).isEqualTo(Code.NOT_FOUND);
+    assertThat(decoded.message()).isEqualTo("No order <42>\n");
+    assertThat(decoded.theCase()).isSameAs(theCase);
+    assertThat(decoded.details())
+        .isEqualTo(Arrays.asList("é", 2.0, true, null, Collections.singletonMap("k", "c")));
+  }
+
+  @Test
+  public void encodesIntoAndDecodesFromBuffers() {
+    Status status = Status.ABORTED.withCase(new Case.Default("retry", Code.ABORTED));
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+    codec.encodeTo(buffer, status).flip();
+    ByteBuffer copy = buffer.duplicate();
+    byte[] json = new byte[copy.remaining()];
+    copy.get(json);
+    assertThat(new String(json, UTF_8))
+        .isEqualTo("{\"code\":10,\"status\":\"ABORTED\",\"message\":null,\"theCase\":\"retry\"}");
+
+    Status decoded = codec.decode(buffer);
+    assertThat(buffer.hasRemaining()).isFalse();
+    assertThat(decoded.code()).isEqualTo(Code.ABORTED);
+    assertThat(decoded.message()).isNull();
+    assertThat(decoded.theCase().identifier()).isEqualTo("retry");
+  }
+
+  @Test
+  public void decodesCaseCodeOfV1AndRejectsMalformedInput() {
+    byte[] legacy =
+        ("{ \"status\" : \"INVALID_ARGUMENT\", \"extra\": [1, {\"a\": \"\\\"\"}],"
+                + " \"caseCode\": {\"stringForm\": \"1_1_010\"}, \"message\": \"\\u0041\" }")
+            .getBytes(UTF_8);
+    Status status = codec.decode(legacy);
+    assertThat(status.code()).isEqualTo(Code.INVALID_ARGUMENT);
+    assertThat(status.message()).isEqualTo("A");
+    assertThat(status.theCase().identifier()).isEqualTo("1_1_010");
+
+    assertThatThrownBy(() -> codec.decode("{\"message\":\"m\"}".getBytes(UTF_8)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Neither 'code' nor 'status'");
+    assertThatThrownBy(() -> codec.decode("{\"code\":3".getBytes(UTF_8)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("at offset 9");
+    assertThatThrownBy(() -> codec.encode(Status.OK.addDetail(new Object())))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Unsupported detail type");
+  }
+
+  @Test
+  public void limitsNestingOfDetails() {
+    // The details array takes one of the 255 levels
+    String nested = Strings.repeat("[", 254) + Strings.repeat("]", 254);
+    Status status = codec.decode(("{\"code\":3,\"details\":[" + nested + "]}").getBytes(UTF_8));
+    assertThat(status.details()).hasSize(1);
+
+    String tooDeep = Strings.repeat("[{\"a\":", 150) + "1" + Strings.repeat("}]", 150);
+    assertThatThrownBy(
+            () -> codec.decode(("{\"code\":3,\"details\":[" + tooDeep + "]}").getBytes(UTF_8)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Too deeply nested");
+    String huge = Strings.repeat("[", 100_000);
+    assertThatThrownBy(() -> codec.decode(("{\"code\":3,\"extra\":" + huge).getBytes(UTF_8)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Too deeply nested");
+  }
+}
@@ -4,8 +4,9 @@ import static java.util.Objects.requireNonNull;
 
 import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory;
 import com.github.ikonglong.common.status.DigitCodedCase.NumRange;
+import com.github.ikonglong.common.status.SegmentedStatusCodeMapper;
 import com.github.ikonglong.common.status.Status;
-import com.github.ikonglong.common.status.StatusCodeMapper;
+import java.util.Map;
 import java.util.Map.Entry;
 
 public final class Docs {
@@ -18,19 +19,21 @@ public final class Docs {
     // DocFormat.SIMPLE));
   }
 
-  public static String docForCodeMapper(StatusCodeMapper codeMapper, DocFormat docFormat) {
+  public static String docForCodeMapper(SegmentedStatusCodeMapper codeMapper, DocFormat docFormat) {
     requireNonNull(codeMapper, "codeMapper");
     requireNonNull(docFormat, "docFormat");
     if (docFormat == DocFormat.MARKDOWN) {
       throw new UnsupportedOperationException("Unsupported to generate markdown doc");
     }
-    StringBuilder doc = new StringBuilder(codeMapper.mappings().size() * 60);
+    // Lists every segment, since a status code may be mapped to several
+    Map<NumRange, Status.Code> mappings = codeMapper.sortedInverseMappings();
+    StringBuilder doc = new StringBuilder(mappings.size() * 60);
     doc.append("| Condition Code Segment | Status | HTTP Status |").append("\n");
     doc.append("| ------ | ------ | ------ |").append("\n");
-    for (Entry<Status.Code, NumRange> entry : codeMapper.mappings().entrySet()) {
-      Status.Code statusCode = entry.getKey();
+    for (Entry<NumRange, Status.Code> entry : mappings.entrySet()) {
+      Status.Code statusCode = entry.getValue();
       doc.append("| ")
-          .append(entry.getValue())
+          .append(entry.getKey())
           .append(" | ")
           .append(statusCode.name())
           .append(":")
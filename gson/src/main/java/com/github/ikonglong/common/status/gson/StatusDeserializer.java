@@ -12,11 +12,17 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.github.ikonglong.common.status.Case.Default;
+import com.github.ikonglong.common.status.CaseRegistry;
 import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
 import java.lang.reflect.Type;
 import java.util.List;
 
+/**
+ * @deprecated Builds a tree of {@link JsonElement}s for every status. Use {@link
+ *     StatusTypeAdapter#FACTORY}, which reads statuses in one pass, instead.
+ */
+@Deprecated
 public class StatusDeserializer implements JsonDeserializer<Status> {
   @Override
   public Status deserialize(JsonElement jsonElement, Type type, JsonDeserializationContext context)
@@ -27,33 +33,32 @@ public class StatusDeserializer implements JsonDeserializer<Status> {
     }
     JsonObject jsonObj = (JsonObject) jsonElement;
     int statusCode = jsonObj.getAsJsonPrimitive(PROP_CODE).getAsInt();
+    Code code = Status.fromCodeValue(statusCode).code();
     String message = jsonObj.get(PROP_MESSAGE).getAsString();
 
-    // For backward compatibility
-    Status status;
-    JsonElement caseCodeJson = jsonObj.get(PROP_CASE_CODE);
+    // For the latest abstraction, which takes precedence over `caseCode` written by 1.x
+    String identifier = null;
+    JsonElement caseJson = jsonObj.get(PROP_CASE);
     // `isNull` means that the property is absent.
     // `jsJsonNull` means that the value of the property is `null`.
-    if (!isNull(caseCodeJson) && !caseCodeJson.isJsonNull()) {
-      CaseCode caseCode = context.deserialize(jsonObj.get(PROP_CASE_CODE), CaseCode.class);
-      status =
-          Status.fromCodeValue(statusCode)
-              .withCase(new Default(caseCode.stringForm, statusCode), message);
-    }
-
-    // For the latest abstraction
-    JsonElement caseJson = jsonObj.get(PROP_CASE);
-    if (isNull(caseJson) || caseJson.isJsonNull()) {
-      status = Status.fromCodeValue(statusCode).withMessage(message);
+    if (!isNull(caseJson) && !caseJson.isJsonNull()) {
+      identifier = caseJson.getAsString();
     } else {
-      status =
-          Status.fromCodeValue(statusCode)
-              .withCase(new Default(caseJson.getAsString(), statusCode), message);
+      // For backward compatibility
+      JsonElement caseCodeJson = jsonObj.get(PROP_CASE_CODE);
+      if (!isNull(caseCodeJson) && !caseCodeJson.isJsonNull()) {
+        identifier = context.<CaseCode>deserialize(caseCodeJson, CaseCode.class).stringForm;
+      }
+    }
+    Status status = Status.fromCodeValue(statusCode);
+    if (!isNull(identifier)) {
+      status = status.withCase(CaseRegistry.global().resolve(identifier, code));
     }
+    status = status.withMessage(message);
 
     JsonElement detailsJson = jsonObj.get(PROP_DETAILS);
     if (!isNull(detailsJson) && !detailsJson.isJsonNull()) {
-      status.addDetails(context.deserialize(detailsJson, List.class));
+      status = status.addDetails(context.<List<?>>deserialize(detailsJson, List.class));
     }
 
     return status;
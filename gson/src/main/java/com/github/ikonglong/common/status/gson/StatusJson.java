@@ -5,15 +5,27 @@ import static java.util.Objects.requireNonNull;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import com.github.ikonglong.common.status.Status;
+import java.io.IOException;
+import java.io.PushbackReader;
 import java.io.Reader;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public class StatusJson {
 
   public static final StatusJson DEFAULT_INSTANCE = new StatusJson();
 
   private final Gson gson;
+  private final TypeAdapter<Status> statusAdapter;
 
   public StatusJson() {
     this(false);
@@ -22,17 +34,18 @@ public class StatusJson {
   public StatusJson(boolean printPrettyJson) {
     GsonBuilder b =
         new GsonBuilder()
-            .registerTypeAdapter(Status.class, new StatusDeserializer())
-            .registerTypeAdapter(Status.class, new StatusSerializer())
+            .registerTypeAdapterFactory(StatusTypeAdapter.FACTORY)
             .serializeNulls();
     if (printPrettyJson) {
       b.setPrettyPrinting();
     }
     this.gson = b.create();
+    this.statusAdapter = gson.getAdapter(Status.class);
   }
 
   public StatusJson(Gson gson) {
     this.gson = requireNonNull(gson, "gson");
+    this.statusAdapter = gson.getAdapter(Status.class);
   }
 
   public String toJson(Status status) {
@@ -54,4 +67,146 @@ public class StatusJson {
   public Status fromJson(JsonReader json) {
     return gson.fromJson(json, Status.class);
   }
+
+  /**
+   * Writes the given statuses to the given writer as a JSON array, one at a time, so that they
+   * don't have to be held in memory at once. The writer is flushed but not closed.
+   */
+  public void writeAll(Iterable<Status> statuses, Writer writer) {
+    writeAll(statuses, writer, Layout.ARRAY);
+  }
+
+  /**
+   * Writes the given statuses to the given writer in the given layout, one at a time, so that they
+   * don't have to be held in memory at once. The writer is flushed but not closed.
+   *
+   * @throws JsonIOException if the writer fails
+   */
+  public void writeAll(Iterable<Status> statuses, Writer writer, Layout layout) {
+    requireNonNull(statuses, "statuses");
+    requireNonNull(writer, "writer");
+    requireNonNull(layout, "layout");
+    try {
+      if (layout == Layout.ARRAY) {
+        JsonWriter out = gson.newJsonWriter(writer);
+        out.beginArray();
+        for (Status status : statuses) {
+          statusAdapter.write(out, status);
+        }
+        out.endArray();
+      } else {
+        for (Status status : statuses) {
+          // A writer per line, as a JsonWriter only takes one top-level value
+          JsonWriter out = gson.newJsonWriter(writer);
+          out.setIndent("");
+          statusAdapter.write(out, status);
+          writer.write('\n');
+        }
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * Returns an iterator which reads statuses from the given reader lazily, one per call to {@link
+   * Iterator#next()}, so that neither the document nor the statuses are held in memory at once.
+   * The layout is detected from the first character: a JSON array, or statuses separated by
+   * whitespace such as NDJSON. Empty input has no statuses. The reader is not closed.
+   *
+   * <p>The iterator reads leniently, as {@link JsonReader#setLenient(boolean)} describes. It throws
+   * {@link JsonSyntaxException} for malformed input and {@link JsonIOException} if the reader
+   * fails.
+   */
+  public Iterator<Status> readAll(Reader reader) {
+    return new StatusIterator(requireNonNull(reader, "reader"));
+  }
+
+  /**
+   * The layouts of multiple statuses.
+   */
+  public enum Layout {
+    /**
+     * A JSON array of statuses.
+     */
+    ARRAY,
+    /**
+     * Newline-delimited JSON, i.e. one status per line.
+     */
+    NDJSON
+  }
+
+  private final class StatusIterator implements Iterator<Status> {
+    private final Reader reader;
+    private JsonReader in;
+    private boolean inArray;
+    private boolean done;
+
+    StatusIterator(Reader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (done) {
+        return false;
+      }
+      try {
+        if (in == null && !begin()) {
+          done = true;
+          return false;
+        }
+        if (inArray ? in.hasNext() : in.peek() != JsonToken.END_DOCUMENT) {
+          return true;
+        }
+        if (inArray) {
+          in.endArray();
+          if (in.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Unexpected data after the array at " + in.getPath());
+          }
+        }
+        done = true;
+        return false;
+      } catch (MalformedJsonException | IllegalStateException e) {
+        throw new JsonSyntaxException(e);
+      } catch (IOException e) {
+        throw new JsonIOException(e);
+      }
+    }
+
+    // Detects the layout, or returns false if the input is empty
+    private boolean begin() throws IOException {
+      PushbackReader pushback = new PushbackReader(reader);
+      int c;
+      do {
+        c = pushback.read();
+      } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+      if (c == -1) {
+        return false;
+      }
+      pushback.unread(c);
+      in = gson.newJsonReader(pushback);
+      in.setLenient(true);
+      if (c == '[') {
+        in.beginArray();
+        inArray = true;
+      }
+      return true;
+    }
+
+    @Override
+    public Status next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        return statusAdapter.read(in);
+      } catch (MalformedJsonException | IllegalStateException e) {
+        throw new JsonSyntaxException(e);
+      } catch (IOException e) {
+        throw new JsonIOException(e);
+      }
+    }
+  }
 }
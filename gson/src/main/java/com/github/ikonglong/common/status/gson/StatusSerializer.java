@@ -15,6 +15,11 @@ import com.google.gson.JsonSerializer;
 import com.github.ikonglong.common.status.Status;
 import java.lang.reflect.Type;
 
+/**
+ * @deprecated Builds a tree of {@link JsonElement}s for every status. Use {@link
+ *     StatusTypeAdapter#FACTORY}, which writes statuses in one pass, instead.
+ */
+@Deprecated
 public class StatusSerializer implements JsonSerializer<Status> {
   @Override
   public JsonElement serialize(Status status, Type type, JsonSerializationContext context) {
@@ -22,9 +27,7 @@ public class StatusSerializer implements JsonSerializer<Status> {
     jsonObj.addProperty(PROP_CODE, status.code().value());
     jsonObj.addProperty(PROP_STATUS, status.code().name());
     jsonObj.addProperty(PROP_MESSAGE, status.message());
-    if (isNull(status.details())) {
-      jsonObj.add(PROP_DETAILS, JsonNull.INSTANCE);
-    } else {
+    if (!status.details().isEmpty()) {
       jsonObj.add(PROP_DETAILS, context.serialize(status.details()));
     }
     if (isNull(status.theCase())) {
@@ -0,0 +1,178 @@
+package com.github.ikonglong.common.status.gson;
+
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE_CODE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE_CODE_STRING_FORM;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CODE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_DETAILS;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_MESSAGE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_STATUS;
+import static java.util.Objects.requireNonNull;
+
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a status with {@link JsonWriter} and reads it with {@link JsonReader} in one pass, without
+ * building a tree of {@link com.google.gson.JsonElement}s as {@link StatusSerializer} and {@link
+ * StatusDeserializer} do. Statuses are written as
+ *
+ * <pre>{@code
+ * {"code":3,"status":"INVALID_ARGUMENT","message":"Bad request","details":[...],"theCase":"1_1_010"}
+ * }</pre>
+ *
+ * <p>where {@code details} is omitted if there are none. The cases of read statuses are resolved
+ * by the {@link CaseRegistry#global() global case registry}. Statuses written by 1.x, whose cases
+ * are given by a {@code caseCode} object, are read as well.
+ *
+ * <p>Register {@link #FACTORY} with a {@link com.google.gson.GsonBuilder}, as {@link StatusJson}
+ * does, so that details are written and read by the adapters of the {@link Gson} instance.
+ */
+public final class StatusTypeAdapter extends TypeAdapter<Status> {
+
+  public static final TypeAdapterFactory FACTORY =
+      new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+          return type.getRawType() == Status.class
+              ? (TypeAdapter<T>) new StatusTypeAdapter(gson)
+              : null;
+        }
+      };
+
+  private final TypeAdapter<Object> detailAdapter;
+
+  public StatusTypeAdapter(Gson gson) {
+    this.detailAdapter = requireNonNull(gson, "gson").getAdapter(Object.class);
+  }
+
+  @Override
+  public void write(JsonWriter out, Status status) throws IOException {
+    if (status == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginObject();
+    out.name(PROP_CODE).value(status.code().value());
+    out.name(PROP_STATUS).value(status.code().name());
+    out.name(PROP_MESSAGE).value(status.message());
+    List<?> details = status.details();
+    if (!details.isEmpty()) {
+      out.name(PROP_DETAILS).beginArray();
+      for (Object detail : details) {
+        detailAdapter.write(out, detail);
+      }
+      out.endArray();
+    }
+    out.name(PROP_CASE);
+    Case theCase = status.theCase();
+    if (theCase == null) {
+      out.nullValue();
+    } else if (out.isHtmlSafe()) {
+      // Escaped as the writer would, so the cached form is copied instead
+      out.jsonValue(theCase.encodedIdentifier().quotedJson());
+    } else {
+      out.value(theCase.identifier());
+    }
+    out.endObject();
+  }
+
+  @Override
+  public Status read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    int codeValue = -1;
+    String statusName = null;
+    String message = null;
+    String caseIdentifier = null;
+    String legacyCaseIdentifier = null;
+    List<Object> details = null;
+
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = in.nextName();
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        continue;
+      }
+      switch (name) {
+        case PROP_CODE:
+          codeValue = in.nextInt();
+          break;
+        case PROP_STATUS:
+          statusName = in.nextString();
+          break;
+        case PROP_MESSAGE:
+          message = in.nextString();
+          break;
+        case PROP_CASE:
+          caseIdentifier = in.nextString();
+          break;
+        case PROP_CASE_CODE:
+          legacyCaseIdentifier = readLegacyCaseIdentifier(in);
+          break;
+        case PROP_DETAILS:
+          details = new ArrayList<>();
+          in.beginArray();
+          while (in.hasNext()) {
+            details.add(detailAdapter.read(in));
+          }
+          in.endArray();
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+
+    Status status;
+    if (codeValue >= 0) {
+      status = Status.fromCodeValue(codeValue);
+    } else if (statusName != null) {
+      status = Code.parse(statusName).toStatus();
+    } else {
+      throw new JsonParseException(
+          "Neither '" + PROP_CODE + "' nor '" + PROP_STATUS + "' is present at " + in.getPath());
+    }
+    // `theCase` takes precedence over `caseCode` written by 1.x
+    String identifier = caseIdentifier != null ? caseIdentifier : legacyCaseIdentifier;
+    if (identifier != null) {
+      status = status.withCase(CaseRegistry.global().resolve(identifier, status.code()));
+    }
+    status = status.withMessage(message);
+    if (details != null) {
+      status = status.addDetails(details);
+    }
+    return status;
+  }
+
+  private static String readLegacyCaseIdentifier(JsonReader in) throws IOException {
+    String stringForm = null;
+    in.beginObject();
+    while (in.hasNext()) {
+      if (in.nextName().equals(PROP_CASE_CODE_STRING_FORM) && in.peek() != JsonToken.NULL) {
+        stringForm = in.nextString();
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    return stringForm;
+  }
+}
@@ -1,11 +0,0 @@
-package com.github.ikonglong.common.status.json;
-
-public class StatusProperties {
-
-  public static final String PROP_CODE = "code";
-  public static final String PROP_STATUS = "status";
-  public static final String PROP_MESSAGE = "message";
-  public static final String PROP_CASE_CODE = "caseCode";
-  public static final String PROP_CASE = "theCase";
-  public static final String PROP_DETAILS = "details";
-}
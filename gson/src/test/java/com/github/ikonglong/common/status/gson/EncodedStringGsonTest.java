@@ -0,0 +1,23 @@
+package com.github.ikonglong.common.status.gson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ikonglong.common.status.EncodedString;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+public class EncodedStringGsonTest {
+
+  @Test
+  public void quotedJsonEqualsGsonOutput() {
+    Gson gson = new Gson();
+    StringBuilder allChars = new StringBuilder();
+    for (char c = 0; c < 0x300; c++) {
+      allChars.append(c);
+    }
+    allChars.append("  😀");
+    for (String s : new String[] {"", "09_02_001", "it's <b>&=", allChars.toString()}) {
+      assertThat(EncodedString.of(s).quotedJson()).isEqualTo(gson.toJson(s));
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.github.ikonglong.common.status.gson;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import com.github.ikonglong.common.status.json.StatusJsonCodec;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class StatusJsonCodecGsonTest {
+
+  @Test
+  public void encodesAsStatusJsonDoes() {
+    Map<String, Object> detail = new LinkedHashMap<>();
+    detail.put("limit", 1.5);
+    detail.put("items", Arrays.asList(1L, null, "x"));
+    Case digitCoded = new BasicDigitCodedCaseFactory.FactoryForComplexSystem(5, 1).newAbortedWithOffset(1);
+    Status[] statuses = {
+      Status.OK,
+      Status.CANCELLED.withMessage(""),
+      Status.fromCase(digitCoded, "Failed: '%s' & \"%s\"", "a=b", " \t\u0000"),
+      Status.INVALID_ARGUMENT
+          .withCase(new Case.Default("size<limit", Code.INVALID_ARGUMENT), "Größe 😀 \ud800!")
+          .addDetails(Arrays.asList("d", 7, false, 'q', detail)),
+    };
+    for (Status status : statuses) {
+      byte[] expected = StatusJson.DEFAULT_INSTANCE.toJson(status).getBytes(UTF_8);
+      assertThat(StatusJsonCodec.DEFAULT.encode(status)).isEqualTo(expected);
+
+      Status decoded = StatusJsonCodec.DEFAULT.decode(expected);
+      Status read = StatusJson.DEFAULT_INSTANCE.fromJson(new String(expected, UTF_8));
+      assertThat(decoded.code()).isEqualTo(read.code());
+      assertThat(decoded.message()).isEqualTo(read.message());
+      assertThat(identifierOf(decoded.theCase())).isEqualTo(identifierOf(read.theCase()));
+      assertThat(decoded.details()).isEqualTo(read.details());
+    }
+  }
+
+  private static String identifierOf(Case theCase) {
+    return theCase == null ? null : theCase.identifier();
+  }
+}
@@ -1,11 +1,19 @@
 package com.github.ikonglong.common.status.gson;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.github.ikonglong.common.status.Case.Default;
 import com.github.ikonglong.common.status.Status;
 import com.github.ikonglong.common.status.Status.Code;
-import com.github.ikonglong.common.status.gson.StatusJson;
+import com.github.ikonglong.common.status.gson.StatusJson.Layout;
+import com.google.gson.JsonSyntaxException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 public class StatusJsonTest {
@@ -33,4 +41,40 @@ public class StatusJsonTest {
     assertThat(s.theCase().identifier()).isEqualTo("file_size_limit_exceeded");
     assertThat(s.theCase().statusCode()).isEqualTo(Code.INVALID_ARGUMENT);
   }
+
+  @Test
+  public void writesAndReadsAllInBothLayouts() {
+    List<Status> statuses =
+        Arrays.asList(
+            Status.OK,
+            Status.NOT_FOUND.withCase(new Default("no_order", Code.NOT_FOUND), "No order\n42"),
+            Status.ABORTED.addDetail("retry"));
+    StringWriter array = new StringWriter();
+    new StatusJson(true).writeAll(statuses, array);
+    assertThat(array.toString()).startsWith("[").endsWith("]");
+    StringWriter ndjson = new StringWriter();
+    new StatusJson(true).writeAll(statuses, ndjson, Layout.NDJSON);
+    assertThat(ndjson.toString().split("\n")).hasSize(3).allMatch(line -> line.startsWith("{\"code\""));
+
+    for (String json : Arrays.asList(array.toString(), ndjson.toString())) {
+      List<Status> read = new ArrayList<>();
+      sj.readAll(new StringReader(json)).forEachRemaining(read::add);
+      assertThat(read).hasSize(3);
+      assertThat(read.get(1).message()).isEqualTo("No order\n42");
+      assertThat(read.get(1).theCase().identifier()).isEqualTo("no_order");
+      assertThat(read.get(2).details()).isEqualTo(Arrays.asList("retry"));
+    }
+  }
+
+  @Test
+  public void readsAllLazily() {
+    assertThat(sj.readAll(new StringReader(" \n")).hasNext()).isFalse();
+    assertThat(sj.readAll(new StringReader("[]")).hasNext()).isFalse();
+
+    Iterator<Status> statuses = sj.readAll(new StringReader("[{\"code\":1},{\"code\":2},{\"code\":]"));
+    assertThat(statuses.next().code()).isEqualTo(Code.CANCELLED);
+    assertThat(statuses.next().code()).isEqualTo(Code.UNKNOWN);
+    assertThat(statuses.hasNext()).isTrue();
+    assertThatThrownBy(statuses::next).isInstanceOf(JsonSyntaxException.class);
+  }
 }
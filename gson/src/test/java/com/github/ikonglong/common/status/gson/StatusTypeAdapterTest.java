@@ -0,0 +1,65 @@
+package com.github.ikonglong.common.status.gson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class StatusTypeAdapterTest {
+
+  final Gson gson = new GsonBuilder().registerTypeAdapterFactory(StatusTypeAdapter.FACTORY).create();
+
+  @Test
+  public void writesAndReadsInOnePass() {
+    Case theCase = new BasicDigitCodedCaseFactory.FactoryForComplexSystem(3, 7).newNotFound(260);
+    CaseRegistry.global().register(theCase);
+    Status status =
+        Status.fromCase(theCase, "No order <%s>", 42).addDetails(Arrays.asList("reason 1", 2));
+    String json = gson.toJson(status);
+    assertThat(json)
+        .isEqualTo(
+            "{\"code\":5,\"status\":\"NOT_FOUND\",\"message\":\"No order \\u003c42\\u003e\","
+                + "\"details\":[\"reason 1\",2],\"theCase\":\"3_7_260\"}");
+    Status read = gson.fromJson(json, Status.class);
+    assertThat(read.code()).isEqualTo(Code.NOT_FOUND);
+    assertThat(read.message()).isEqualTo("No order <42>");
+    assertThat(read.theCase()).isSameAs(theCase);
+    assertThat(read.details()).isEqualTo(Arrays.asList("reason 1", 2.0));
+  }
+
+  @Test
+  public void omitsEmptyDetailsAndHonorsHtmlEscaping() {
+    Gson gson =
+        new GsonBuilder()
+            .registerTypeAdapterFactory(StatusTypeAdapter.FACTORY)
+            .disableHtmlEscaping()
+            .create();
+    Status status = Status.ABORTED.withCase(new Case.Default("a=b", Code.ABORTED), "m");
+    assertThat(gson.toJson(status))
+        .isEqualTo("{\"code\":10,\"status\":\"ABORTED\",\"message\":\"m\",\"theCase\":\"a=b\"}");
+  }
+
+  @Test
+  public void readsCaseCodeOfV1AndPrefersTheCase() {
+    String legacy =
+        "{\"code\":3,\"message\":\"m\",\"extra\":{\"x\":[1]},"
+            + "\"caseCode\":{\"appCode\":\"1\",\"moduleCode\":\"1\",\"conditionCode\":\"10\",\"stringForm\":\"1_1_010\"}}";
+    assertThat(gson.fromJson(legacy, Status.class).theCase().identifier()).isEqualTo("1_1_010");
+
+    String both =
+        "{\"caseCode\":{\"stringForm\":\"1_1_010\"},\"status\":\"INVALID_ARGUMENT\",\"theCase\":\"1_1_011\"}";
+    Status status = gson.fromJson(both, Status.class);
+    assertThat(status.code()).isEqualTo(Code.INVALID_ARGUMENT);
+    assertThat(status.theCase().identifier()).isEqualTo("1_1_011");
+    assertThat(gson.fromJson("{\"code\":3,\"message\":null,\"theCase\":\"1_1_010\"}", Status.class).message())
+        .isNull();
+    assertThat(gson.fromJson("null", Status.class)).isNull();
+  }
+}
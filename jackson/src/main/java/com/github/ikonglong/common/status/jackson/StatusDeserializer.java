@@ -0,0 +1,142 @@
+package com.github.ikonglong.common.status.jackson;
+
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE_CODE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE_CODE_STRING_FORM;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CODE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_DETAILS;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_MESSAGE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_STATUS;
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads a status written by {@link StatusSerializer} or by the gson module, token by token, without
+ * building a tree. Statuses written by 1.x, whose cases are given by a {@code caseCode} object, are
+ * read as well. The cases of read statuses are resolved by a {@link CaseRegistry}, which is the
+ * {@link CaseRegistry#global() global one} by default.
+ */
+public class StatusDeserializer extends StdDeserializer<Status> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient CaseRegistry caseRegistry;
+
+  public StatusDeserializer() {
+    this(CaseRegistry.global());
+  }
+
+  public StatusDeserializer(CaseRegistry caseRegistry) {
+    super(Status.class);
+    this.caseRegistry = requireNonNull(caseRegistry, "caseRegistry");
+  }
+
+  @Override
+  public Status deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+      return (Status) ctxt.handleUnexpectedToken(Status.class, p);
+    }
+    int codeValue = -1;
+    String statusName = null;
+    String message = null;
+    String caseIdentifier = null;
+    String legacyCaseIdentifier = null;
+    List<?> details = null;
+
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String name = p.currentName();
+      if (p.nextToken() == JsonToken.VALUE_NULL) {
+        continue;
+      }
+      switch (name) {
+        case PROP_CODE:
+          codeValue = readInt(p, ctxt);
+          break;
+        case PROP_STATUS:
+          statusName = readString(p, ctxt);
+          break;
+        case PROP_MESSAGE:
+          message = readString(p, ctxt);
+          break;
+        case PROP_CASE:
+          caseIdentifier = readString(p, ctxt);
+          break;
+        case PROP_CASE_CODE:
+          legacyCaseIdentifier = readLegacyCaseIdentifier(p, ctxt);
+          break;
+        case PROP_DETAILS:
+          details = ctxt.readValue(p, List.class);
+          break;
+        default:
+          p.skipChildren();
+      }
+    }
+
+    Status status;
+    if (codeValue >= 0) {
+      status = Status.fromCodeValue(codeValue);
+    } else if (statusName != null) {
+      status = Code.parse(statusName).toStatus();
+    } else {
+      return ctxt.reportInputMismatch(
+          this, "Neither '%s' nor '%s' is present", PROP_CODE, PROP_STATUS);
+    }
+    // `theCase` takes precedence over `caseCode` written by 1.x
+    String identifier = caseIdentifier != null ? caseIdentifier : legacyCaseIdentifier;
+    if (identifier != null) {
+      status = status.withCase(caseRegistry.resolve(identifier, status.code()));
+    }
+    status = status.withMessage(message);
+    if (details != null) {
+      status = status.addDetails(details);
+    }
+    return status;
+  }
+
+  private static String readLegacyCaseIdentifier(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      p.skipChildren();
+      return null;
+    }
+    String stringForm = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String name = p.currentName();
+      p.nextToken();
+      if (name.equals(PROP_CASE_CODE_STRING_FORM)) {
+        stringForm = readString(p, ctxt);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return stringForm;
+  }
+
+  // The values are read from scalar tokens only, since reading an object or an array as a scalar
+  // leaves the parser inside it, where its fields would be taken for those of the status
+  private static int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (!p.currentToken().isScalarValue()) {
+      return (Integer) ctxt.handleUnexpectedToken(Integer.class, p);
+    }
+    return p.getValueAsInt(-1);
+  }
+
+  private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (!p.currentToken().isScalarValue()) {
+      return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+    return p.getValueAsString();
+  }
+}
@@ -0,0 +1,30 @@
+package com.github.ikonglong.common.status.jackson;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.Status;
+
+/**
+ * Registers {@link StatusSerializer} and {@link StatusDeserializer} with an {@code ObjectMapper}:
+ *
+ * <pre>{@code
+ * ObjectMapper mapper = new ObjectMapper().registerModule(new StatusModule());
+ * }</pre>
+ */
+public class StatusModule extends SimpleModule {
+
+  private static final long serialVersionUID = 1L;
+
+  public StatusModule() {
+    this(CaseRegistry.global());
+  }
+
+  /**
+   * @param caseRegistry resolves the cases of deserialized statuses
+   */
+  public StatusModule(CaseRegistry caseRegistry) {
+    super(StatusModule.class.getSimpleName());
+    addSerializer(Status.class, new StatusSerializer());
+    addDeserializer(Status.class, new StatusDeserializer(caseRegistry));
+  }
+}
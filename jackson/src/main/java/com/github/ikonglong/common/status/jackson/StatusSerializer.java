@@ -0,0 +1,80 @@
+package com.github.ikonglong.common.status.jackson;
+
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CASE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_CODE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_DETAILS;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_MESSAGE;
+import static com.github.ikonglong.common.status.json.StatusProperties.PROP_STATUS;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a status in the same format as {@code StatusJson} of the gson module:
+ *
+ * <pre>{@code
+ * {"code":3,"status":"INVALID_ARGUMENT","message":"Bad request","details":[...],"theCase":"1_1_010"}
+ * }</pre>
+ *
+ * <p>where {@code details} is omitted if there are none. Property names and status names are
+ * written from {@link SerializedString}s, which are encoded once.
+ */
+public class StatusSerializer extends StdSerializer<Status> {
+
+  private static final long serialVersionUID = 1L;
+
+  static final SerializedString CODE = new SerializedString(PROP_CODE);
+  static final SerializedString STATUS = new SerializedString(PROP_STATUS);
+  static final SerializedString MESSAGE = new SerializedString(PROP_MESSAGE);
+  static final SerializedString DETAILS = new SerializedString(PROP_DETAILS);
+  static final SerializedString CASE = new SerializedString(PROP_CASE);
+
+  // Names of the status codes indexed by their values
+  private static final SerializedString[] STATUS_NAMES = new SerializedString[Code.values().length];
+
+  static {
+    for (Code code : Code.values()) {
+      STATUS_NAMES[code.value()] = new SerializedString(code.name());
+    }
+  }
+
+  public StatusSerializer() {
+    super(Status.class);
+  }
+
+  @Override
+  public void serialize(Status status, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    gen.writeStartObject(status);
+    gen.writeFieldName(CODE);
+    gen.writeNumber(status.code().value());
+    gen.writeFieldName(STATUS);
+    gen.writeString(STATUS_NAMES[status.code().value()]);
+    gen.writeFieldName(MESSAGE);
+    gen.writeString(status.message());
+    List<?> details = status.details();
+    if (!details.isEmpty()) {
+      gen.writeFieldName(DETAILS);
+      gen.writeStartArray();
+      for (Object detail : details) {
+        provider.defaultSerializeValue(detail, gen);
+      }
+      gen.writeEndArray();
+    }
+    gen.writeFieldName(CASE);
+    Case theCase = status.theCase();
+    if (theCase == null) {
+      gen.writeNull();
+    } else {
+      gen.writeString(theCase.identifier());
+    }
+    gen.writeEndObject();
+  }
+}
@@ -0,0 +1,78 @@
+package com.github.ikonglong.common.status.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ikonglong.common.status.BasicDigitCodedCaseFactory;
+import com.github.ikonglong.common.status.Case;
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.Status.Code;
+import com.github.ikonglong.common.status.gson.StatusJson;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class StatusModuleTest {
+
+  final ObjectMapper mapper = new ObjectMapper().registerModule(new StatusModule());
+
+  @Test
+  public void writesSameJsonAsGsonModule() throws Exception {
+    Case theCase = new BasicDigitCodedCaseFactory.FactoryForComplexSystem(4, 8).newNotFound(251);
+    CaseRegistry.global().register(theCase);
+    List<Status> statuses =
+        Arrays.asList(
+            Status.fromCase(theCase, "No order %s", 42).addDetails(Arrays.asList("a", "b")),
+            Status.ABORTED.withMessage("Conflict \"x\""),
+            Status.OK);
+    for (Status status : statuses) {
+      String json = mapper.writeValueAsString(status);
+      assertThat(json).isEqualTo(StatusJson.DEFAULT_INSTANCE.toJson(status));
+      Status read = mapper.readValue(json, Status.class);
+      assertThat(read.toString()).isEqualTo(status.toString());
+    }
+    assertThat(mapper.readValue(mapper.writeValueAsString(statuses.get(0)), Status.class).theCase())
+        .isSameAs(theCase);
+  }
+
+  @Test
+  public void readsCaseCodeOfV1() throws Exception {
+    String json =
+        "{\"code\":3,\"message\":\"m\",\"extra\":[{\"x\":1}],"
+            + "\"caseCode\":{\"appCode\":\"1\",\"moduleCode\":\"1\",\"conditionCode\":\"10\",\"stringForm\":\"1_1_010\"}}";
+    Status status = mapper.readValue(json, Status.class);
+    assertThat(status.code()).isEqualTo(Code.INVALID_ARGUMENT);
+    assertThat(status.theCase().identifier()).isEqualTo("1_1_010");
+
+    Status[] statuses =
+        mapper.readValue("[{\"status\":\"NOT_FOUND\",\"theCase\":\"x\"},null]", Status[].class);
+    assertThat(statuses[0].code()).isEqualTo(Code.NOT_FOUND);
+    assertThat(statuses[0].theCase().identifier()).isEqualTo("x");
+    assertThat(statuses[1]).isNull();
+  }
+
+  @Test
+  public void rejectsStatusWithoutCode() {
+    assertThatThrownBy(() -> mapper.readValue("{\"message\":\"m\"}", Status.class))
+        .isInstanceOf(JsonMappingException.class)
+        .hasMessageContaining("Neither 'code' nor 'status' is present");
+  }
+
+  @Test
+  public void rejectsNonScalarValues() {
+    assertThatThrownBy(
+            () -> mapper.readValue("{\"message\":{\"code\":7},\"code\":3}", Status.class))
+        .isInstanceOf(JsonMappingException.class);
+    assertThatThrownBy(() -> mapper.readValue("{\"code\":[7],\"status\":\"OK\"}", Status.class))
+        .isInstanceOf(JsonMappingException.class);
+    assertThatThrownBy(
+            () ->
+                mapper.readValue(
+                    "{\"code\":3,\"caseCode\":{\"stringForm\":{\"x\":\"1_1_010\"}}}",
+                    Status.class))
+        .isInstanceOf(JsonMappingException.class);
+  }
+}
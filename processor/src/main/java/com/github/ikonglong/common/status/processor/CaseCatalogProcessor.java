@@ -0,0 +1,301 @@
+package com.github.ikonglong.common.status.processor;
+
+import com.github.ikonglong.common.status.DigitCodedCase.CodingStrategy;
+import com.github.ikonglong.common.status.DigitCodedCase.NumRange;
+import com.github.ikonglong.common.status.MultiSegmentStatusCodeMapper;
+import com.github.ikonglong.common.status.SegmentedStatusCodeMapper;
+import com.github.ikonglong.common.status.Status;
+import com.github.ikonglong.common.status.StatusCodeToNumRangeMapper;
+import com.github.ikonglong.common.status.catalog.CaseCatalog;
+import com.github.ikonglong.common.status.catalog.CaseDef;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Generates a catalog class for every type annotated with {@link CaseCatalog}. The catalog is
+ * validated at build time: overlapping segments, codes out of their ranges, condition codes out
+ * of the segments of their status codes and duplicate condition codes are reported as compilation
+ * errors. The generated class holds the cases as constants with precomputed identifiers, along
+ * with flat arrays sorted by condition code for lookups, so that loading it does no more than
+ * creating the cases.
+ */
+@SupportedAnnotationTypes({
+        "com.github.ikonglong.common.status.catalog.CaseCatalog",
+        "com.github.ikonglong.common.status.catalog.CaseDef"
+})
+public final class CaseCatalogProcessor extends AbstractProcessor {
+
+    private static final String CLASS_NAME_SUFFIX = "Catalog";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(CaseDef.class)) {
+            if (element.getEnclosingElement().getAnnotation(CaseCatalog.class) == null) {
+                error(element, "@CaseDef is only allowed in a type annotated with @CaseCatalog");
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(CaseCatalog.class)) {
+            try {
+                generate((TypeElement) element);
+            } catch (InvalidCatalogException e) {
+                error(e.element, e.getMessage());
+            } catch (IOException e) {
+                error(element, "Failed to write the catalog class: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        CaseCatalog catalog = type.getAnnotation(CaseCatalog.class);
+        CodingStrategy codingStrategy = newCodingStrategy(type, catalog);
+
+        // Cases sorted by condition code
+        SortedMap<Integer, CaseConstant> constants = new TreeMap<>();
+        for (Element enclosed : type.getEnclosedElements()) {
+            CaseDef caseDef = enclosed.getAnnotation(CaseDef.class);
+            if (caseDef == null) {
+                continue;
+            }
+            VariableElement field = (VariableElement) enclosed;
+            Object conditionCode = field.getConstantValue();
+            if (!field.getModifiers().contains(Modifier.STATIC)
+                    || field.asType().getKind() != TypeKind.INT
+                    || conditionCode == null) {
+                throw new InvalidCatalogException(field, "@CaseDef must annotate an int constant");
+            }
+            if (field.getSimpleName().toString().startsWith("$")) {
+                throw new InvalidCatalogException(
+                        field, "The name of a @CaseDef constant must not start with '$'");
+            }
+            CaseConstant constant;
+            try {
+                constant = new CaseConstant(
+                        field.getSimpleName().toString(),
+                        catalog.appCode(),
+                        catalog.moduleCode(),
+                        (Integer) conditionCode,
+                        codingStrategy.identifierOf(
+                                caseDef.value(), catalog.appCode(), catalog.moduleCode(), (Integer) conditionCode),
+                        caseDef.value());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCatalogException(field, e.getMessage());
+            }
+            CaseConstant replaced = constants.put(constant.conditionCode, constant);
+            if (replaced != null) {
+                throw new InvalidCatalogException(
+                        field,
+                        "Condition code " + conditionCode + " is already taken by " + replaced.name);
+            }
+        }
+
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String className = catalog.className().isEmpty()
+                ? type.getSimpleName() + CLASS_NAME_SUFFIX
+                : catalog.className();
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(new CatalogWriter(
+                    packageName,
+                    className,
+                    type.getQualifiedName().toString(),
+                    new ArrayList<>(constants.values()))
+                    .write());
+        }
+    }
+
+    private static CodingStrategy newCodingStrategy(TypeElement type, CaseCatalog catalog) {
+        try {
+            SegmentedStatusCodeMapper mapper;
+            if (catalog.segments().length == 0) {
+                mapper = new StatusCodeToNumRangeMapper();
+            } else {
+                MultiSegmentStatusCodeMapper.Builder builder = MultiSegmentStatusCodeMapper.newBuilder();
+                for (CaseCatalog.Segment segment : catalog.segments()) {
+                    builder.add(segment.status(), NumRange.of(segment.start(), segment.end()));
+                }
+                mapper = builder.build();
+            }
+            return CodingStrategy.newBuilder()
+                    .numDigitsOfAppCode(catalog.numDigitsOfAppCode())
+                    .numDigitsOfModuleCode(catalog.numDigitsOfModuleCode())
+                    .numDigitsOfConditionCode(catalog.numDigitsOfConditionCode())
+                    .statusCodeMapper(mapper)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCatalogException(type, e.getMessage());
+        }
+    }
+
+    private static PackageElement packageOf(Element element) {
+        while (element.getKind() != ElementKind.PACKAGE) {
+            element = element.getEnclosingElement();
+        }
+        return (PackageElement) element;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    static final class CaseConstant {
+        final String name;
+        final int appCode;
+        final int moduleCode;
+        final int conditionCode;
+        final String identifier;
+        final Status.Code statusCode;
+
+        CaseConstant(
+                String name,
+                int appCode,
+                int moduleCode,
+                int conditionCode,
+                String identifier,
+                Status.Code statusCode) {
+            this.name = name;
+            this.appCode = appCode;
+            this.moduleCode = moduleCode;
+            this.conditionCode = conditionCode;
+            this.identifier = identifier;
+            this.statusCode = statusCode;
+        }
+    }
+
+    private static final class InvalidCatalogException extends RuntimeException {
+        private final Element element;
+
+        InvalidCatalogException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+
+    /**
+     * Writes the source of a catalog class.
+     */
+    static final class CatalogWriter {
+        private final String packageName;
+        private final String className;
+        private final String declaringTypeName;
+        // Sorted by condition code
+        private final List<CaseConstant> constants;
+        private final StringBuilder out = new StringBuilder(1024);
+
+        CatalogWriter(
+                String packageName, String className, String declaringTypeName, List<CaseConstant> constants) {
+            this.packageName = packageName;
+            this.className = className;
+            this.declaringTypeName = declaringTypeName;
+            this.constants = constants;
+        }
+
+        String write() {
+            if (!packageName.isEmpty()) {
+                line("package %s;", packageName);
+                line("");
+            }
+            line("import com.github.ikonglong.common.status.DigitCodedCase;");
+            line("import com.github.ikonglong.common.status.Status;");
+            line("");
+            line("import java.util.Arrays;");
+            line("import java.util.Collections;");
+            line("import java.util.List;");
+            line("");
+            line("/**");
+            line(" * The cases declared by {@link %s}.", declaringTypeName);
+            line(" *");
+            line(" * <p>Generated by %s. Do not edit.", CaseCatalogProcessor.class.getName());
+            line(" */");
+            line("public final class %s {", className);
+            line("");
+            for (CaseConstant constant : constants) {
+                line("    public static final DigitCodedCase %s =", constant.name);
+                line("            DigitCodedCase.precomputed(%d, %d, %d, \"%s\", Status.Code.%s);",
+                        constant.appCode,
+                        constant.moduleCode,
+                        constant.conditionCode,
+                        constant.identifier,
+                        constant.statusCode.name());
+                line("");
+            }
+            // The private fields are named with a leading '$', which case names are not allowed to have
+            out.append("    private static final int[] $CONDITION_CODES = {");
+            for (int i = 0; i < constants.size(); i++) {
+                out.append(i == 0 ? "" : ", ").append(constants.get(i).conditionCode);
+            }
+            line("};");
+            out.append("    private static final DigitCodedCase[] $CASES = {");
+            for (int i = 0; i < constants.size(); i++) {
+                out.append(i == 0 ? "" : ", ").append(constants.get(i).name);
+            }
+            line("};");
+            line("    private static final List<DigitCodedCase> $CASE_LIST =");
+            line("            Collections.unmodifiableList(Arrays.asList($CASES));");
+            line("");
+            line("    private %s() {", className);
+            line("    }");
+            line("");
+            line("    /**");
+            line("     * Returns the case with the given condition code, or {@code null} if none is declared.");
+            line("     */");
+            line("    public static DigitCodedCase forConditionCode(int conditionCode) {");
+            line("        int i = Arrays.binarySearch($CONDITION_CODES, conditionCode);");
+            line("        return i >= 0 ? $CASES[i] : null;");
+            line("    }");
+            line("");
+            line("    /**");
+            line("     * Returns the case with the given identifier, or {@code null} if none is declared.");
+            line("     */");
+            line("    public static DigitCodedCase forIdentifier(String identifier) {");
+            line("        switch (identifier) {");
+            for (CaseConstant constant : constants) {
+                line("            case \"%s\":", constant.identifier);
+                line("                return %s;", constant.name);
+            }
+            line("            default:");
+            line("                return null;");
+            line("        }");
+            line("    }");
+            line("");
+            line("    /**");
+            line("     * Returns all declared cases sorted by their condition codes.");
+            line("     */");
+            line("    public static List<DigitCodedCase> cases() {");
+            line("        return $CASE_LIST;");
+            line("    }");
+            line("}");
+            return out.toString();
+        }
+
+        private void line(String format, Object... args) {
+            out.append(args.length == 0 ? format : String.format(Locale.ROOT, format, args)).append('\n');
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.ikonglong.common.status.processor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.ikonglong.common.status.CaseRegistry;
+import com.github.ikonglong.common.status.DigitCodedCase;
+import com.github.ikonglong.common.status.Status.Code;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CaseCatalogProcessorTest {
+
+  @TempDir Path dir;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void generatesCatalog() throws Exception {
+    List<Diagnostic<? extends JavaFileObject>> errors =
+        compile(
+            "test/OrderCaseDefs.java",
+            "package test;",
+            "import com.github.ikonglong.common.status.Status.Code;",
+            "import com.github.ikonglong.common.status.catalog.CaseCatalog;",
+            "import com.github.ikonglong.common.status.catalog.CaseDef;",
+            "@CaseCatalog(numDigitsOfAppCode = 2, numDigitsOfModuleCode = 2, appCode = 71, moduleCode = 2)",
+            "interface OrderCaseDefs {",
+            "  @CaseDef(Code.FAILED_PRECONDITION) int INSUFFICIENT_INVENTORY = 52;",
+            "  @CaseDef(Code.INVALID_ARGUMENT) int INVALID_ITEM = 1;",
+            "}");
+    assertThat(errors).isEmpty();
+
+    Class<?> catalog = load("test.OrderCaseDefsCatalog");
+    DigitCodedCase invalidItem = (DigitCodedCase) catalog.getField("INVALID_ITEM").get(null);
+    assertThat(invalidItem.identifier()).isEqualTo("71_02_001");
+    assertThat(invalidItem.statusCode()).isEqualTo(Code.INVALID_ARGUMENT);
+    // The cases are registered explicitly
+    assertThat(CaseRegistry.global().lookup("71_02_001")).isNull();
+    List<DigitCodedCase> cases = (List<DigitCodedCase>) catalog.getMethod("cases").invoke(null);
+    assertThat(CaseRegistry.global().registerAll(cases)).isEmpty();
+    assertThat(CaseRegistry.global().lookup("71_02_001")).isSameAs(invalidItem);
+
+    DigitCodedCase insufficientInventory =
+        (DigitCodedCase) catalog.getField("INSUFFICIENT_INVENTORY").get(null);
+    Method forConditionCode = catalog.getMethod("forConditionCode", int.class);
+    assertThat(forConditionCode.invoke(null, 52)).isSameAs(insufficientInventory);
+    assertThat(forConditionCode.invoke(null, 2)).isNull();
+    Method forIdentifier = catalog.getMethod("forIdentifier", String.class);
+    assertThat(forIdentifier.invoke(null, "71_02_052")).isSameAs(insufficientInventory);
+    assertThat(forIdentifier.invoke(null, "71_02_002")).isNull();
+    assertThat((List<Object>) catalog.getMethod("cases").invoke(null))
+        .containsExactly(invalidItem, insufficientInventory);
+  }
+
+  @Test
+  public void usesDeclaredSegmentsAndClassName() throws Exception {
+    List<Diagnostic<? extends JavaFileObject>> errors =
+        compile(
+            "test/Defs.java",
+            "package test;",
+            "import com.github.ikonglong.common.status.Status.Code;",
+            "import com.github.ikonglong.common.status.catalog.CaseCatalog;",
+            "import com.github.ikonglong.common.status.catalog.CaseCatalog.Segment;",
+            "import com.github.ikonglong.common.status.catalog.CaseDef;",
+            "@CaseCatalog(numDigitsOfAppCode = 0, numDigitsOfModuleCode = 0, className = \"Cases\",",
+            "    segments = {",
+            "        @Segment(status = Code.NOT_FOUND, start = 1, end = 9),",
+            "        @Segment(status = Code.NOT_FOUND, start = 500, end = 599)})",
+            "class Defs {",
+            "  @CaseDef(Code.NOT_FOUND) static final int NO_SUCH_ORDER = 501;",
+            "}");
+    assertThat(errors).isEmpty();
+    DigitCodedCase noSuchOrder = (DigitCodedCase) load("test.Cases").getField("NO_SUCH_ORDER").get(null);
+    assertThat(noSuchOrder.identifier()).isEqualTo("501");
+  }
+
+  @Test
+  public void generatesCatalogRegardlessOfNamesAndLocale() throws Exception {
+    Locale defaultLocale = Locale.getDefault();
+    // Formats numbers with Arabic-Indic digits
+    Locale.setDefault(Locale.forLanguageTag("ar-EG"));
+    List<Diagnostic<? extends JavaFileObject>> errors;
+    try {
+      errors =
+          compile(
+              "test/NameDefs.java",
+              "package test;",
+              "import com.github.ikonglong.common.status.Status.Code;",
+              "import com.github.ikonglong.common.status.catalog.CaseCatalog;",
+              "import com.github.ikonglong.common.status.catalog.CaseDef;",
+              "@CaseCatalog(numDigitsOfAppCode = 2, numDigitsOfModuleCode = 2, appCode = 72, moduleCode = 3)",
+              "interface NameDefs {",
+              "  @CaseDef(Code.INVALID_ARGUMENT) int CASES = 1;",
+              "  @CaseDef(Code.INVALID_ARGUMENT) int CONDITION_CODES = 2;",
+              "  @CaseDef(Code.INVALID_ARGUMENT) int CASE_LIST = 3;",
+              "}");
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+    assertThat(errors).isEmpty();
+
+    Class<?> catalog = load("test.NameDefsCatalog");
+    DigitCodedCase cases = (DigitCodedCase) catalog.getField("CASES").get(null);
+    assertThat(cases.identifier()).isEqualTo("72_03_001");
+    assertThat(catalog.getMethod("forConditionCode", int.class).invoke(null, 1)).isSameAs(cases);
+  }
+
+  @Test
+  public void reportsInvalidCatalogs() throws Exception {
+    assertThat(
+            messages(
+                compile(
+                    "test/Overlapping.java",
+                    "package test;",
+                    "import com.github.ikonglong.common.status.Status.Code;",
+                    "import com.github.ikonglong.common.status.catalog.CaseCatalog;",
+                    "import com.github.ikonglong.common.status.catalog.CaseCatalog.Segment;",
+                    "@CaseCatalog(numDigitsOfAppCode = 0, numDigitsOfModuleCode = 0, segments = {",
+                    "    @Segment(status = Code.NOT_FOUND, start = 1, end = 9),",
+                    "    @Segment(status = Code.INTERNAL, start = 9, end = 20)})",
+                    "interface Overlapping {}")))
+        .anyMatch(m -> m.contains("overlap"));
+    assertThat(
+            messages(
+                compile(
+                    "test/OutOfSegment.java",
+                    "package test;",
+                    "import com.github.ikonglong.common.status.Status.Code;",
+                    "import com.github.ikonglong.common.status.catalog.CaseCatalog;",
+                    "import com.github.ikonglong.common.status.catalog.CaseDef;",
+                    "@CaseCatalog(numDigitsOfAppCode = 1, numDigitsOfModuleCode = 1)",
+                    "interface OutOfSegment {",
+                    "  @CaseDef(Code.INVALID_ARGUMENT) int TOO_FAR = 51;",
+                    "}")))
+        .anyMatch(m -> m.contains("don't include given condition code 51"));
+    assertThat(
+            messages(
+                compile(
+                    "test/Duplicate.java",
+                    "package test;",
+                    "import com.github.ikonglong.common.status.Status.Code;",
+                    "import com.github.ikonglong.common.status.catalog.CaseCatalog;",
+                    "import com.github.ikonglong.common.status.catalog.CaseDef;",
+                    "@CaseCatalog(numDigitsOfAppCode = 1, numDigitsOfModuleCode = 1)",
+                    "interface Duplicate {",
+                    "  @CaseDef(Code.INVALID_ARGUMENT) int A = 7;",
+                    "  @CaseDef(Code.INVALID_ARGUMENT) int B = 7;",
+                    "}")))
+        .anyMatch(m -> m.contains("already taken by A"));
+    assertThat(
+            messages(
+                compile(
+                    "test/DollarName.java",
+                    "package test;",
+                    "import com.github.ikonglong.common.status.Status.Code;",
+                    "import com.github.ikonglong.common.status.catalog.CaseCatalog;",
+                    "import com.github.ikonglong.common.status.catalog.CaseDef;",
+                    "@CaseCatalog(numDigitsOfAppCode = 1, numDigitsOfModuleCode = 1)",
+                    "interface DollarName {",
+                    "  @CaseDef(Code.INVALID_ARGUMENT) int $CASES = 7;",
+                    "}")))
+        .anyMatch(m -> m.contains("must not start with '$'"));
+  }
+
+  private List<Diagnostic<? extends JavaFileObject>> compile(String path, String... lines)
+      throws IOException {
+    Path source = dir.resolve("src").resolve(path);
+    Files.createDirectories(source.getParent());
+    Files.write(source, String.join("\n", lines).getBytes(UTF_8));
+    Path classes = dir.resolve("classes");
+    Files.createDirectories(classes);
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, Locale.ROOT, UTF_8)) {
+      List<String> options =
+          new ArrayList<>(
+              Arrays.asList(
+                  "-classpath",
+                  System.getProperty("java.class.path"),
+                  "-d",
+                  classes.toString(),
+                  "-s",
+                  classes.toString()));
+      JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              options,
+              null,
+              fileManager.getJavaFileObjects(source.toFile()));
+      task.setProcessors(Arrays.asList(new CaseCatalogProcessor()));
+      task.call();
+    }
+    return diagnostics.getDiagnostics().stream()
+        .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+        .collect(Collectors.toList());
+  }
+
+  private Class<?> load(String className) throws Exception {
+    URL classes = new File(dir.resolve("classes").toString()).toURI().toURL();
+    return new URLClassLoader(new URL[] {classes}, getClass().getClassLoader()).loadClass(className);
+  }
+
+  private static List<String> messages(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+    return diagnostics.stream().map(d -> d.getMessage(Locale.ROOT)).collect(Collectors.toList());
+  }
+}